@@ -0,0 +1,84 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import org.spongepowered.api.event.Event;
+
+/**
+ * A small event hierarchy used by the event bus benchmarks.
+ *
+ * <p>
+ * Everything here is public, as generated handler classes live in another
+ * package.
+ * </p>
+ */
+public final class BenchmarkEvents {
+
+    private BenchmarkEvents() {
+    }
+
+    public interface BaseEvent extends Event {
+
+    }
+
+    public interface ChildEvent extends BaseEvent {
+
+    }
+
+    public interface GrandChildEvent extends ChildEvent {
+
+    }
+
+    public interface UnrelatedEvent extends Event {
+
+    }
+
+    /**
+     * A handler that does nothing but count its calls, so the benchmark
+     * measures dispatch rather than handler work.
+     */
+    public static final class CountingHandler implements Handler {
+
+        long calls;
+
+        @Override
+        public void handle(Event event) {
+            this.calls++;
+        }
+    }
+
+    /**
+     * A listener used as the target of generated handler classes.
+     */
+    public static final class Listener {
+
+        public long calls;
+
+        public void onChild(ChildEvent event) {
+            this.calls++;
+        }
+    }
+
+}
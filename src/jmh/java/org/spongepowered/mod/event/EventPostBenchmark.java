@@ -0,0 +1,98 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.plugin.PluginManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SpongeEventBus#post} with handlers spread over an event
+ * hierarchy, so every post has to collect handlers from several types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventPostBenchmark {
+
+    @Param({"0", "1", "10", "100"})
+    public int handlers;
+
+    private SpongeEventBus bus;
+    private BenchmarkEvents.GrandChildEvent grandChildEvent;
+    private BenchmarkEvents.BaseEvent baseEvent;
+    private BenchmarkEvents.UnrelatedEvent unrelatedEvent;
+
+    @Setup
+    public void setup() {
+        this.bus = new SpongeEventBus(Mockito.mock(PluginManager.class));
+        Class<?>[] types = {BenchmarkEvents.BaseEvent.class, BenchmarkEvents.ChildEvent.class, BenchmarkEvents.GrandChildEvent.class};
+        Order[] orders = Order.values();
+        for (int i = 0; i < this.handlers; i++) {
+            this.bus.register(types[i % types.length], new BenchmarkEvents.CountingHandler(), orders[i % orders.length], null);
+        }
+
+        this.grandChildEvent = Mockito.mock(BenchmarkEvents.GrandChildEvent.class);
+        this.baseEvent = Mockito.mock(BenchmarkEvents.BaseEvent.class);
+        this.unrelatedEvent = Mockito.mock(BenchmarkEvents.UnrelatedEvent.class);
+    }
+
+    @Benchmark
+    public boolean postLeafType() {
+        return this.bus.post(this.grandChildEvent);
+    }
+
+    @Benchmark
+    public boolean postRootType() {
+        return this.bus.post(this.baseEvent);
+    }
+
+    @Benchmark
+    public boolean postWithoutHandlers() {
+        return this.bus.post(this.unrelatedEvent);
+    }
+
+    @Benchmark
+    public boolean postByOrder() {
+        return this.bus.post(this.grandChildEvent, Order.DEFAULT);
+    }
+
+}
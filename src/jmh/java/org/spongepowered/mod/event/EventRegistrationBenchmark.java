@@ -0,0 +1,93 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.plugin.PluginManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures registering and unregistering handlers while other threads keep
+ * posting events, which is what plugins creating listeners on the fly do.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventRegistrationBenchmark {
+
+    private SpongeEventBus bus;
+    private BenchmarkEvents.GrandChildEvent event;
+
+    @Setup
+    public void setup() {
+        this.bus = new SpongeEventBus(Mockito.mock(PluginManager.class));
+        for (int i = 0; i < 50; i++) {
+            this.bus.register(BenchmarkEvents.ChildEvent.class, new BenchmarkEvents.CountingHandler(), Order.DEFAULT, null);
+        }
+        this.event = Mockito.mock(BenchmarkEvents.GrandChildEvent.class);
+        // Bake the caches of all types in the hierarchy
+        this.bus.post(this.event);
+        this.bus.post(Mockito.mock(BenchmarkEvents.BaseEvent.class));
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadHandler {
+
+        final Handler handler = new BenchmarkEvents.CountingHandler();
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(2)
+    public boolean registerAndUnregister(ThreadHandler state) {
+        this.bus.register(BenchmarkEvents.BaseEvent.class, state.handler, Order.LATE, null);
+        return this.bus.unregister(BenchmarkEvents.BaseEvent.class, state.handler);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(2)
+    public boolean post() {
+        return this.bus.post(this.event);
+    }
+
+}
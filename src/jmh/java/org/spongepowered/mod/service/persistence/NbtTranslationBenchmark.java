@@ -0,0 +1,247 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.persistence;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagDouble;
+import net.minecraft.nbt.NBTTagFloat;
+import net.minecraft.nbt.NBTTagList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.DataView;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures translating entity and tile entity NBT to {@link DataView}s and
+ * back, as done by the serialization service on every save.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NbtTranslationBenchmark {
+
+    private NBTTagCompound entity;
+    private NBTTagCompound tileEntity;
+    private NBTTagCompound section;
+    private DataView entityView;
+    private DataView tileEntityView;
+    private DataView sectionView;
+
+    @Setup
+    public void setup() {
+        this.entity = createEntity();
+        this.tileEntity = createChest();
+        this.entityView = NbtTranslator.getInstance().translateFrom(this.entity);
+        this.tileEntityView = NbtTranslator.getInstance().translateFrom(this.tileEntity);
+        this.section = createSection();
+        this.sectionView = NbtTranslator.getInstance().translateFrom(this.section);
+    }
+
+    @Benchmark
+    public DataView entityFromNbt() {
+        return NbtTranslator.getInstance().translateFrom(this.entity);
+    }
+
+    @Benchmark
+    public NBTTagCompound entityToNbt() {
+        return NbtTranslator.getInstance().translateData(this.entityView);
+    }
+
+    @Benchmark
+    public NBTTagCompound entityRoundTrip() {
+        return NbtTranslator.getInstance().translateData(NbtTranslator.getInstance().translateFrom(this.entity));
+    }
+
+    @Benchmark
+    public DataView tileEntityFromNbt() {
+        return NbtTranslator.getInstance().translateFrom(this.tileEntity);
+    }
+
+    @Benchmark
+    public NBTTagCompound tileEntityToNbt() {
+        return NbtTranslator.getInstance().translateData(this.tileEntityView);
+    }
+
+    @Benchmark
+    public NBTTagCompound tileEntityRoundTrip() {
+        return NbtTranslator.getInstance().translateData(NbtTranslator.getInstance().translateFrom(this.tileEntity));
+    }
+
+    @Benchmark
+    public DataView sectionFromNbt() {
+        return NbtTranslator.getInstance().translateFrom(this.section);
+    }
+
+    @Benchmark
+    public NBTTagCompound sectionToNbt() {
+        return NbtTranslator.getInstance().translateData(this.sectionView);
+    }
+
+    private static NBTTagCompound createEntity() {
+        // Roughly what a zombie holding an enchanted sword writes
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setString("id", "Zombie");
+        compound.setTag("Pos", doubleList(128.5D, 64.0D, -302.25D));
+        compound.setTag("Motion", doubleList(0.0D, -0.0784D, 0.0D));
+        compound.setTag("Rotation", floatList(93.4F, 0.0F));
+        compound.setFloat("FallDistance", 0.0F);
+        compound.setShort("Fire", (short) -1);
+        compound.setShort("Air", (short) 300);
+        compound.setBoolean("OnGround", true);
+        compound.setInteger("Dimension", 0);
+        compound.setBoolean("Invulnerable", false);
+        compound.setInteger("PortalCooldown", 0);
+        compound.setLong("UUIDMost", 0x5f1e2d3c4b5a6978L);
+        compound.setLong("UUIDLeast", 0x8796a5b4c3d2e1f0L);
+        compound.setFloat("HealF", 20.0F);
+        compound.setShort("Health", (short) 20);
+        compound.setShort("HurtTime", (short) 0);
+        compound.setInteger("HurtByTimestamp", 0);
+        compound.setShort("DeathTime", (short) 0);
+        compound.setFloat("AbsorptionAmount", 0.0F);
+
+        NBTTagList attributes = new NBTTagList();
+        String[] names = {"generic.maxHealth", "generic.knockbackResistance", "generic.movementSpeed", "generic.followRange",
+                "generic.attackDamage", "zombie.spawnReinforcements"};
+        double[] values = {20.0D, 0.0D, 0.23D, 35.0D, 3.0D, 0.04D};
+        for (int i = 0; i < names.length; i++) {
+            NBTTagCompound attribute = new NBTTagCompound();
+            attribute.setString("Name", names[i]);
+            attribute.setDouble("Base", values[i]);
+            NBTTagList modifiers = new NBTTagList();
+            NBTTagCompound modifier = new NBTTagCompound();
+            modifier.setString("Name", "Random spawn bonus");
+            modifier.setDouble("Amount", 0.05D * i);
+            modifier.setInteger("Operation", 1);
+            modifier.setLong("UUIDMost", 0x1234L * i);
+            modifier.setLong("UUIDLeast", 0x5678L * i);
+            modifiers.appendTag(modifier);
+            attribute.setTag("Modifiers", modifiers);
+            attributes.appendTag(attribute);
+        }
+        compound.setTag("Attributes", attributes);
+
+        NBTTagList equipment = new NBTTagList();
+        equipment.appendTag(createItem("minecraft:diamond_sword", 1, (short) 12, true));
+        for (int i = 0; i < 4; i++) {
+            equipment.appendTag(new NBTTagCompound());
+        }
+        compound.setTag("Equipment", equipment);
+        compound.setTag("DropChances", floatList(0.085F, 0.085F, 0.085F, 0.085F, 0.085F));
+        compound.setBoolean("CanPickUpLoot", false);
+        compound.setBoolean("PersistenceRequired", false);
+        compound.setBoolean("IsVillager", false);
+        compound.setBoolean("IsBaby", false);
+        compound.setInteger("ConversionTime", -1);
+        return compound;
+    }
+
+    private static NBTTagCompound createChest() {
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setString("id", "Chest");
+        compound.setInteger("x", 128);
+        compound.setInteger("y", 64);
+        compound.setInteger("z", -302);
+        NBTTagList items = new NBTTagList();
+        for (int slot = 0; slot < 27; slot++) {
+            NBTTagCompound item = createItem(slot % 3 == 0 ? "minecraft:iron_pickaxe" : "minecraft:cobblestone", slot % 3 == 0 ? 1 : 64,
+                    (short) 0, slot % 3 == 0);
+            item.setByte("Slot", (byte) slot);
+            items.appendTag(item);
+        }
+        compound.setTag("Items", items);
+        compound.setString("CustomName", "Storage");
+        return compound;
+    }
+
+    private static NBTTagCompound createSection() {
+        // Array heavy data, like a chunk section and its height map
+        NBTTagCompound compound = new NBTTagCompound();
+        byte[] blocks = new byte[4096];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = (byte) (i % 7);
+        }
+        compound.setByte("Y", (byte) 4);
+        compound.setByteArray("Blocks", blocks);
+        compound.setByteArray("Data", new byte[2048]);
+        compound.setByteArray("BlockLight", new byte[2048]);
+        compound.setByteArray("SkyLight", new byte[2048]);
+        compound.setIntArray("HeightMap", new int[256]);
+        return compound;
+    }
+
+    private static NBTTagCompound createItem(String id, int count, short damage, boolean enchanted) {
+        NBTTagCompound item = new NBTTagCompound();
+        item.setString("id", id);
+        item.setByte("Count", (byte) count);
+        item.setShort("Damage", damage);
+        if (enchanted) {
+            NBTTagCompound tag = new NBTTagCompound();
+            NBTTagList enchantments = new NBTTagList();
+            for (int i = 0; i < 3; i++) {
+                NBTTagCompound enchantment = new NBTTagCompound();
+                enchantment.setShort("id", (short) (16 + i));
+                enchantment.setShort("lvl", (short) (i + 1));
+                enchantments.appendTag(enchantment);
+            }
+            tag.setTag("ench", enchantments);
+            tag.setInteger("RepairCost", 3);
+            NBTTagCompound display = new NBTTagCompound();
+            display.setString("Name", "Benchmark");
+            tag.setTag("display", display);
+            item.setTag("tag", tag);
+        }
+        return item;
+    }
+
+    private static NBTTagList doubleList(double... values) {
+        NBTTagList list = new NBTTagList();
+        for (double value : values) {
+            list.appendTag(new NBTTagDouble(value));
+        }
+        return list;
+    }
+
+    private static NBTTagList floatList(float... values) {
+        NBTTagList list = new NBTTagList();
+        for (float value : values) {
+            list.appendTag(new NBTTagFloat(value));
+        }
+        return list;
+    }
+
+}
@@ -47,7 +47,8 @@ public class SpongeCoremod implements IFMLLoadingPlugin {
         MixinEnvironment.getDefaultEnvironment()
             .addConfiguration("mixins.sponge.core.json")
             .addConfiguration("mixins.sponge.api.json")
-            .addConfiguration("mixins.sponge.entityactivation.json");
+            .addConfiguration("mixins.sponge.entityactivation.json")
+            .addConfiguration("mixins.sponge.tileentityactivation.json");
 
         // Classloader exclusions - TODO: revise when event pkg refactor reaches impl
         Launch.classLoader.addClassLoaderExclusion("org.spongepowered.api.event.cause.CauseTracked");
@@ -82,6 +82,7 @@ import org.spongepowered.mod.service.scheduler.SyncScheduler;
 import org.spongepowered.mod.service.sql.SqlServiceImpl;
 import org.spongepowered.mod.util.SpongeHooks;
 import org.spongepowered.mod.world.SpongeDimensionType;
+import org.spongepowered.mod.world.storage.WorldInfoWriter;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -255,6 +256,7 @@ public class SpongeMod extends DummyModContainer implements PluginContainer {
 
     @Subscribe
     public void onServerStopped(FMLServerStoppedEvent e) throws IOException {
+        WorldInfoWriter.flush();
         try {
             CommandService service = getGame().getCommandDispatcher();
             for (CommandMapping mapping : service.getCommands()) {
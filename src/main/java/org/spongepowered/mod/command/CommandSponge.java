@@ -28,6 +28,7 @@ import static org.spongepowered.api.util.command.args.GenericArguments.dimension
 import static org.spongepowered.api.util.command.args.GenericArguments.world;
 import static org.spongepowered.api.util.command.args.GenericArguments.firstParsing;
 import static org.spongepowered.api.util.command.args.GenericArguments.flags;
+import static org.spongepowered.api.util.command.args.GenericArguments.integer;
 import static org.spongepowered.api.util.command.args.GenericArguments.literal;
 import static org.spongepowered.api.util.command.args.GenericArguments.optional;
 import static org.spongepowered.api.util.command.args.GenericArguments.seq;
@@ -56,15 +57,28 @@ import org.spongepowered.api.world.storage.WorldProperties;
 import org.spongepowered.asm.mixin.MixinEnvironment;
 import org.spongepowered.mod.SpongeMod;
 import org.spongepowered.mod.configuration.SpongeConfig;
+import org.spongepowered.mod.entity.EntityMerger;
+import org.spongepowered.mod.event.EventTimings;
+import org.spongepowered.mod.event.HandlerTiming;
+import org.spongepowered.mod.event.SpongeEventBus;
 import org.spongepowered.mod.interfaces.IMixinWorld;
 import org.spongepowered.mod.interfaces.IMixinWorldProvider;
 import org.spongepowered.mod.mixin.plugin.CoreMixinPlugin;
+import org.spongepowered.mod.service.scheduler.AsyncScheduler;
+import org.spongepowered.mod.service.scheduler.SchedulerHelper;
+import org.spongepowered.mod.service.scheduler.SyncScheduler;
+import org.spongepowered.mod.service.scheduler.TaskMetrics;
 import org.spongepowered.mod.util.SpongeHooks;
+import org.spongepowered.mod.world.ChunkGarbageCollector;
 import org.spongepowered.mod.world.SpongeDimensionType;
 
 import java.io.File;
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @NonnullByDefault
 public class CommandSponge {
@@ -85,6 +99,8 @@ public class CommandSponge {
         nonFlagChildren.register(getVersionCommand(mod), "version");
         nonFlagChildren.register(getAuditCommand(), "audit");
         nonFlagChildren.register(getHeapCommand(), "heap");
+        nonFlagChildren.register(getTimingsCommand(mod), "timings");
+        nonFlagChildren.register(getTasksCommand(), "tasks");
         flagChildren.register(getChunksCommand(mod), "chunks");
         flagChildren.register(getConfigCommand(), "config");
         flagChildren.register(getReloadCommand(), "reload"); // TODO: Should these two be subcommands of config, and what is now config be set?
@@ -97,6 +113,8 @@ public class CommandSponge {
                         INDENT, Texts.of(TextColors.GREEN, "heap"), LONG_INDENT, "Dump live JVM heap\n",
                         INDENT, Texts.of(TextColors.GREEN, "reload", LONG_INDENT, "Reloads a global, dimension, or world config\n"),
                         INDENT, Texts.of(TextColors.GREEN, "save"), LONG_INDENT, "Saves a global, dimension, or world config\n",
+                        INDENT, Texts.of(TextColors.GREEN, "tasks"), LONG_INDENT, "Reports scheduled task costs by plugin\n",
+                        INDENT, Texts.of(TextColors.GREEN, "timings"), LONG_INDENT, "Records and reports event handler timings\n",
                         INDENT, Texts.of(TextColors.GREEN, "version"), LONG_INDENT, "Prints current Sponge version\n",
                         INDENT, Texts.of(TextColors.GREEN, "audit"), LONG_INDENT, "Audit mixin classes for implementation"))
                 .setArguments(firstParsing(nonFlagChildren, flags()
@@ -221,13 +239,21 @@ public class CommandSponge {
                     }
 
                     protected Text getChunksInfo(WorldServer worldserver) {
+                        EntityMerger.MergeStats stats = EntityMerger.getStats(worldserver);
+                        ChunkGarbageCollector chunkGc = ChunkGarbageCollector.get(worldserver);
                         return Texts.of(NEWLINE_TEXT, key("Dimension: "), value(worldserver.provider.getDimensionId()), NEWLINE_TEXT,
                                 key("Loaded chunks: "), value(worldserver.theChunkProviderServer.getLoadedChunkCount()), NEWLINE_TEXT,
                                 key("Active chunks: "), value(worldserver.activeChunkSet.size()), NEWLINE_TEXT,
                                 key("Entities: "), value(worldserver.loadedEntityList.size()), NEWLINE_TEXT,
                                 key("Tile Entities: "), value(worldserver.loadedTileEntityList.size()), NEWLINE_TEXT,
                                 key("Removed Entities:"), value(worldserver.unloadedEntityList.size()), NEWLINE_TEXT,
-                                key("Removed Tile Entities: "), value(worldserver.tileEntitiesToBeRemoved), NEWLINE_TEXT
+                                key("Removed Tile Entities: "), value(worldserver.tileEntitiesToBeRemoved), NEWLINE_TEXT,
+                                key("Merged Items (last tick/total): "), value(stats.getItemsMergedLastTick(worldserver) + "/"
+                                        + stats.getItemsMergedTotal()), NEWLINE_TEXT,
+                                key("Merged XP Orbs (last tick/total): "), value(stats.getOrbsMergedLastTick(worldserver) + "/"
+                                        + stats.getOrbsMergedTotal()), NEWLINE_TEXT,
+                                key("Chunk GC (idle last scan/queued/unloaded total): "), value(chunkGc.getCandidatesLastScan() + "/"
+                                        + chunkGc.getQueued() + "/" + chunkGc.getUnloadedTotal()), NEWLINE_TEXT
                         );
                     }
                 })
@@ -252,6 +278,7 @@ public class CommandSponge {
 
                         if (value.isPresent()) { // Set
                             setting.setValue(value.get());
+                            config.update();
                             return Texts.builder().append(Texts.of(TextColors.GOLD, key), Texts.of(" set to "),
                                     Texts.of(TextColors.GREEN, setting.getValue())).build();
                         } else {
@@ -313,6 +340,149 @@ public class CommandSponge {
     }
 
 
+    private static CommandSpec getTimingsCommand(final SpongeMod mod) {
+        final ChildCommandElementExecutor children = new ChildCommandElementExecutor(null);
+        children.register(CommandSpec.builder()
+                .setDescription(Texts.of("Start recording event handler timings"))
+                .setExecutor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        getTimings(mod).setEnabled(true);
+                        src.sendMessage(Texts.of("Event timings enabled"));
+                        return CommandResult.builder().successCount(1).build();
+                    }
+                })
+                .build(), "on");
+        children.register(CommandSpec.builder()
+                .setDescription(Texts.of("Stop recording event handler timings"))
+                .setExecutor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        getTimings(mod).setEnabled(false);
+                        src.sendMessage(Texts.of("Event timings disabled"));
+                        return CommandResult.builder().successCount(1).build();
+                    }
+                })
+                .build(), "off");
+        children.register(CommandSpec.builder()
+                .setDescription(Texts.of("Reset recorded event handler timings"))
+                .setExecutor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        getTimings(mod).reset();
+                        src.sendMessage(Texts.of("Event timings reset"));
+                        return CommandResult.builder().successCount(1).build();
+                    }
+                })
+                .build(), "reset");
+        children.register(CommandSpec.builder()
+                .setDescription(Texts.of("Print the most expensive event handlers"))
+                .setArguments(optional(integer(Texts.of("count"))))
+                .setExecutor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        EventTimings timings = getTimings(mod);
+                        List<HandlerTiming> ranked = timings.getRankedTimings();
+                        int count = Math.min(ranked.size(), args.<Integer>getOne("count").or(10));
+                        if (!timings.isEnabled()) {
+                            src.sendMessage(Texts.of(TextColors.RED, "Event timings are not enabled, use /sponge timings on"));
+                        }
+                        src.sendMessage(Texts.of("Top ", count, " event handlers over the last ",
+                                TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - timings.getEnabledSince()), "s:"));
+                        for (int i = 0; i < count; i++) {
+                            HandlerTiming timing = ranked.get(i);
+                            src.sendMessage(Texts.of(TextColors.GOLD, timing.getPlugin() == null ? "unknown" : timing.getPlugin().getId(), " ",
+                                    TextColors.GREEN, timing.getEventClass().getSimpleName(), " ",
+                                    TextColors.GRAY, timing.getHandlerName(), NEWLINE_TEXT, INDENT,
+                                    TextColors.WHITE, "total ", formatNanos(timing.getTotalNanos()),
+                                    ", calls ", timing.getCount(),
+                                    ", avg ", formatNanos(timing.getAverageNanos()),
+                                    ", p99 ", formatNanos(timing.getPercentileNanos(0.99)),
+                                    ", max ", formatNanos(timing.getMaxNanos())));
+                        }
+                        return CommandResult.builder().successCount(count).build();
+                    }
+                })
+                .build(), "report");
+        children.register(CommandSpec.builder()
+                .setDescription(Texts.of("Export recorded event handler timings as JSON"))
+                .setExecutor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        File file = new File(new File(new File("."), "timings"),
+                                "event-timings-" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date()) + ".json");
+                        src.sendMessage(Texts.of("Writing event timings to: ", file));
+                        try {
+                            getTimings(mod).export(file);
+                        } catch (IOException e) {
+                            throw new CommandException(Texts.of("Could not write event timings: ", e.getMessage()));
+                        }
+                        src.sendMessage(Texts.of("Event timings export complete"));
+                        return CommandResult.builder().successCount(1).build();
+                    }
+                })
+                .build(), "export");
+
+        return CommandSpec.builder()
+                .setDescription(Texts.of("Record and report event handler timings"))
+                .setPermission("sponge.command.timings")
+                .setArguments(children)
+                .setExecutor(children)
+                .build();
+    }
+
+    private static CommandSpec getTasksCommand() {
+        return CommandSpec.builder()
+                .setDescription(Texts.of("Print the cost of scheduled tasks by plugin, optionally reset"))
+                .setArguments(optional(literal(Texts.of("reset"), "reset")))
+                .setPermission("sponge.command.tasks")
+                .setExecutor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        SchedulerHelper sync = ((SyncScheduler) SyncScheduler.getInstance()).getSchedulerHelper();
+                        SchedulerHelper async = ((AsyncScheduler) AsyncScheduler.getInstance()).getSchedulerHelper();
+                        if (args.hasAny("reset")) {
+                            sync.resetMetrics();
+                            async.resetMetrics();
+                            src.sendMessage(Texts.of("Task metrics reset"));
+                        } else {
+                            src.sendMessage(Texts.of(TextStyles.BOLD, "Synchronous tasks:"));
+                            sendTaskMetrics(src, sync.getMetricsByPlugin());
+                            src.sendMessage(Texts.of(TextStyles.BOLD, "Asynchronous tasks:"));
+                            sendTaskMetrics(src, async.getMetricsByPlugin());
+                        }
+                        return CommandResult.builder().successCount(1).build();
+                    }
+
+                    private void sendTaskMetrics(CommandSource src, Map<String, TaskMetrics> metricsByPlugin) {
+                        if (metricsByPlugin.isEmpty()) {
+                            src.sendMessage(Texts.of(INDENT, TextColors.GRAY, "No tasks have run"));
+                        }
+                        for (Map.Entry<String, TaskMetrics> entry : metricsByPlugin.entrySet()) {
+                            TaskMetrics metrics = entry.getValue();
+                            src.sendMessage(Texts.of(INDENT, TextColors.GOLD, entry.getKey(), TextColors.WHITE,
+                                    ": total ", formatNanos(metrics.getTotalNanos()),
+                                    ", runs ", metrics.getRuns(),
+                                    ", avg ", formatNanos(metrics.getAverageNanos()),
+                                    ", max ", formatNanos(metrics.getMaxNanos()),
+                                    ", avg late ", formatNanos(metrics.getAverageLatenessNanos()),
+                                    ", max late ", formatNanos(metrics.getMaxLatenessNanos()),
+                                    ", overlaps ", metrics.getOverlaps()));
+                        }
+                    }
+                })
+                .build();
+    }
+
+    private static EventTimings getTimings(SpongeMod mod) {
+        return ((SpongeEventBus) mod.getGame().getEventManager()).getTimings();
+    }
+
+    private static String formatNanos(long nanos) {
+        return String.format("%.3fms", nanos / 1000000D);
+    }
+
+
     private static CommandSpec getVersionCommand(final SpongeMod mod) {
         return CommandSpec.builder()
                 .setDescription(Texts.of("Display Sponge's current version"))
@@ -0,0 +1,269 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.configuration;
+
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.tileentity.TileEntity;
+import ninja.leaping.configurate.commented.CommentedConfigurationNode;
+import org.spongepowered.mod.entity.EntityCapPolicy;
+import org.spongepowered.mod.entity.SpongeEntityType;
+import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationRange;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The resolved settings a world uses, read from the world, dimension or
+ * global config that is active for it, with lazily filled per-type caches.
+ *
+ * <p>Hot paths read these fields directly instead of walking the config
+ * hierarchy. A world rebuilds its settings once any config has been saved
+ * or reloaded since they were resolved. Saving newly added per-type
+ * defaults does not count, as those read the same whether present or
+ * not.</p>
+ */
+public final class EffectiveConfig {
+
+    public final SpongeConfig<?> config;
+    public final String configName;
+    public final int revision;
+
+    // chunk gc
+    public final int chunkGcInterval;
+    public final int chunkGcIdleTicks;
+    public final int chunkGcMaxUnloadsPerTick;
+
+    // entity
+    public final int maxBoundingBoxSize;
+    public final int maxSpeed;
+    public final int maxCollisionSize;
+    public final int itemDespawnRate;
+    public final double itemMergeRadius;
+    public final double xpMergeRadius;
+
+    // entity chunk caps, indexed by activation type
+    public final boolean hasEntityChunkCaps;
+    public final EntityCapPolicy entityCapPolicy;
+    private final int[] entityChunkCaps;
+    private final ImmutableMap<String, Integer> entityTypeChunkCaps;
+
+    // entity activation range
+    public final int creatureActivationRange;
+    public final int monsterActivationRange;
+    public final int aquaticActivationRange;
+    public final int ambientActivationRange;
+    public final int miscActivationRange;
+    // per entity type flags, resolved from the config nodes on first use
+    private final ConcurrentMap<SpongeEntityType, Boolean> activationRangeEnabled = new ConcurrentHashMap<SpongeEntityType, Boolean>();
+
+    // tile entity activation range, per class settings resolved from the config nodes on first use
+    public final int tileEntityActivationRange;
+    public final int tileEntityTickRate;
+    private final ConcurrentMap<Class<? extends TileEntity>, TileEntityActivationSettings> tileEntityActivation =
+            new ConcurrentHashMap<Class<? extends TileEntity>, TileEntityActivationSettings>();
+    private volatile int maxTileEntityActivationRange;
+
+    // logging
+    public final boolean chunkLoadLogging;
+    public final boolean chunkUnloadLogging;
+    public final boolean entitySpawnLogging;
+    public final boolean entityDespawnLogging;
+    public final boolean entityDeathLogging;
+    public final boolean logWithStackTraces;
+    public final boolean logEntityCollisionChecks;
+    public final boolean logEntitySpeedRemoval;
+
+    /**
+     * Resolves the settings of the given config.
+     *
+     * @param config The config active for the world
+     * @param revision The value of {@link SpongeConfig#getGlobalRevision()}
+     *        read before the active config was resolved
+     */
+    public EffectiveConfig(SpongeConfig<?> config, int revision) {
+        this.config = config;
+        this.configName = config.getConfigName();
+        this.revision = revision;
+
+        SpongeConfig.ConfigBase base = config.getConfig();
+        SpongeConfig.ChunkGcCategory chunkGc = base.getChunkGc();
+        this.chunkGcInterval = chunkGc.getInterval();
+        this.chunkGcIdleTicks = chunkGc.getIdleTicks();
+        this.chunkGcMaxUnloadsPerTick = chunkGc.getMaxUnloadsPerTick();
+
+        SpongeConfig.EntityCategory entity = base.getEntity();
+        this.maxBoundingBoxSize = entity.getMaxBoundingBoxSize();
+        this.maxSpeed = entity.getMaxSpeed();
+        this.maxCollisionSize = entity.getMaxCollisionSize();
+        this.itemDespawnRate = entity.getItemDespawnRate();
+        this.itemMergeRadius = entity.getItemMergeRadius();
+        this.xpMergeRadius = entity.getXpMergeRadius();
+
+        SpongeConfig.EntityChunkCapCategory caps = base.getEntityChunkCaps();
+        this.entityCapPolicy = EntityCapPolicy.fromConfig(caps.getPolicy());
+        this.entityChunkCaps = new int[] {0, caps.getMonsterCap(), caps.getCreatureCap(), caps.getAquaticCap(), caps.getAmbientCap(),
+                caps.getMiscCap()};
+        this.entityTypeChunkCaps = ImmutableMap.copyOf(caps.getEntityTypeCaps());
+        boolean hasCaps = !this.entityTypeChunkCaps.isEmpty();
+        for (int cap : this.entityChunkCaps) {
+            hasCaps |= cap > 0;
+        }
+        this.hasEntityChunkCaps = hasCaps;
+
+        SpongeConfig.EntityActivationRangeCategory activation = base.getEntityActivationRange();
+        this.creatureActivationRange = activation.getCreatureActivationRange();
+        this.monsterActivationRange = activation.getMonsterActivationRange();
+        this.aquaticActivationRange = activation.getAquaticActivationRange();
+        this.ambientActivationRange = activation.getAmbientActivationRange();
+        this.miscActivationRange = activation.getMiscActivationRange();
+
+        SpongeConfig.TileEntityActivationRangeCategory tileActivation = base.getTileEntityActivationRange();
+        this.tileEntityActivationRange = tileActivation.getDefaultActivationRange();
+        this.tileEntityTickRate = tileActivation.getDefaultTickRate();
+        this.maxTileEntityActivationRange = this.tileEntityActivationRange;
+
+        SpongeConfig.LoggingCategory logging = base.getLogging();
+        this.chunkLoadLogging = logging.chunkLoadLogging();
+        this.chunkUnloadLogging = logging.chunkUnloadLogging();
+        this.entitySpawnLogging = logging.entitySpawnLogging();
+        this.entityDespawnLogging = logging.entityDespawnLogging();
+        this.entityDeathLogging = logging.entityDeathLogging();
+        this.logWithStackTraces = logging.logWithStackTraces();
+        this.logEntityCollisionChecks = logging.logEntityCollisionChecks();
+        this.logEntitySpeedRemoval = logging.logEntitySpeedRemoval();
+    }
+
+    /**
+     * Gets the max number of entities of an activation type per chunk.
+     *
+     * @param activationType The activation type, as classified by
+     *        {@code ActivationRange.initializeEntityActivationType}
+     * @return The cap, or 0 if there is none
+     */
+    public int getEntityChunkCap(byte activationType) {
+        return activationType > 0 && activationType < this.entityChunkCaps.length ? this.entityChunkCaps[activationType] : 0;
+    }
+
+    /**
+     * Gets the max number of entities of a type per chunk.
+     *
+     * @param entityTypeId The id of the entity type
+     * @return The cap, or 0 if there is none
+     */
+    public int getEntityTypeChunkCap(String entityTypeId) {
+        if (this.entityTypeChunkCaps.isEmpty()) {
+            return 0;
+        }
+        Integer cap = this.entityTypeChunkCaps.get(entityTypeId);
+        return cap == null ? 0 : cap;
+    }
+
+    /**
+     * Checks whether activation range applies to an entity type.
+     *
+     * @param type The entity type
+     * @param activationType The activation type of the entity, which picks
+     *        the node the type is listed under
+     * @return Whether activation range is enabled for the type
+     */
+    public boolean isActivationRangeEnabled(SpongeEntityType type, byte activationType) {
+        Boolean enabled = this.activationRangeEnabled.get(type);
+        if (enabled == null) {
+            CommentedConfigurationNode modNode = this.config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId());
+            // Missing nodes read as the defaults addEntityToConfig writes
+            enabled = modNode.getNode("enabled").getBoolean(true)
+                    && modNode.getNode(ActivationRange.getActivationTypeName(activationType), type.getEntityName()).getBoolean(true);
+            this.activationRangeEnabled.put(type, enabled);
+        }
+        return enabled;
+    }
+
+    /**
+     * Gets the activation settings of a tile entity class, if they have been
+     * resolved.
+     *
+     * @param type The tile entity class
+     * @return The settings, or null if not resolved yet
+     */
+    public TileEntityActivationSettings getTileEntityActivation(Class<? extends TileEntity> type) {
+        return this.tileEntityActivation.get(type);
+    }
+
+    /**
+     * Resolves the activation settings of a tile entity class from the config
+     * nodes of its mod and name.
+     *
+     * @param type The tile entity class
+     * @param modId The id of the mod registering the tile entity
+     * @param name The name of the tile entity
+     * @return The settings
+     */
+    public TileEntityActivationSettings resolveTileEntityActivation(Class<? extends TileEntity> type, String modId, String name) {
+        TileEntityActivationSettings settings;
+        CommentedConfigurationNode modNode = this.config.getRootNode().getNode(SpongeConfig.MODULE_TILE_ENTITY_ACTIVATION_RANGE, modId);
+        CommentedConfigurationNode tileNode = modNode.getNode(name);
+        if (modNode.getNode("enabled").getBoolean(true) && tileNode.getNode("enabled").getBoolean(true)) {
+            settings = new TileEntityActivationSettings(
+                    tileNode.getNode(SpongeConfig.TILE_ENTITY_ACTIVATION_RANGE).getInt(this.tileEntityActivationRange),
+                    tileNode.getNode(SpongeConfig.TILE_ENTITY_TICK_RATE).getInt(this.tileEntityTickRate));
+        } else {
+            settings = new TileEntityActivationSettings(0, 1);
+        }
+        this.tileEntityActivation.put(type, settings);
+        this.maxTileEntityActivationRange = Math.max(this.maxTileEntityActivationRange, settings.activationRange);
+        return settings;
+    }
+
+    /**
+     * Gets the largest activation range of any tile entity class resolved so
+     * far, or the default range if that is larger.
+     *
+     * @return The max range in blocks
+     */
+    public int getMaxTileEntityActivationRange() {
+        return this.maxTileEntityActivationRange;
+    }
+
+    /**
+     * Checks whether a config has been saved or reloaded since these settings
+     * were resolved.
+     *
+     * @return Whether these settings are out of date
+     */
+    public boolean isStale() {
+        return this.revision != SpongeConfig.getGlobalRevision();
+    }
+
+    public static final class TileEntityActivationSettings {
+
+        public final int activationRange;
+        public final int tickRate;
+
+        TileEntityActivationSettings(int activationRange, int tickRate) {
+            this.activationRange = activationRange;
+            this.tickRate = tickRate;
+        }
+    }
+}
@@ -39,6 +39,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @SuppressWarnings("unused")
 public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
@@ -57,6 +58,12 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
 
     public static final String CONFIG_ENABLED = "config-enabled";
 
+    // CHUNK GC
+    public static final String CHUNK_GC = "chunk-gc";
+    public static final String CHUNK_GC_INTERVAL = "interval";
+    public static final String CHUNK_GC_IDLE_TICKS = "idle-ticks";
+    public static final String CHUNK_GC_MAX_UNLOADS_PER_TICK = "max-unloads-per-tick";
+
     // DEBUG
     public static final String DEBUG_THREAD_CONTENTION_MONITORING = "thread-contention-monitoring";
     public static final String DEBUG_DUMP_CHUNKS_ON_DEADLOCK = "dump-chunks-on-deadlock";
@@ -69,11 +76,27 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
     public static final String ENTITY_COLLISION_WARN_SIZE = "collision-warn-size";
     public static final String ENTITY_COUNT_WARN_SIZE = "count-warn-size";
     public static final String ENTITY_ITEM_DESPAWN_RATE = "item-despawn-rate";
+    public static final String ENTITY_ITEM_MERGE_RADIUS = "item-merge-radius";
+    public static final String ENTITY_XP_MERGE_RADIUS = "xp-merge-radius";
+
+    // ENTITY CHUNK CAPS
+    public static final String ENTITY_CHUNK_CAPS = "entity-chunk-caps";
+    public static final String ENTITY_CHUNK_CAP_POLICY = "policy";
+    public static final String ENTITY_CHUNK_CAP_MONSTER = "monster";
+    public static final String ENTITY_CHUNK_CAP_CREATURE = "creature";
+    public static final String ENTITY_CHUNK_CAP_AQUATIC = "aquatic";
+    public static final String ENTITY_CHUNK_CAP_AMBIENT = "ambient";
+    public static final String ENTITY_CHUNK_CAP_MISC = "misc";
+    public static final String ENTITY_CHUNK_CAP_ENTITIES = "entities";
     public static final String ENTITY_ACTIVATION_RANGE_CREATURE = "creature-activation-range";
     public static final String ENTITY_ACTIVATION_RANGE_MONSTER = "monster-activation-range";
     public static final String ENTITY_ACTIVATION_RANGE_AQUATIC = "aquatic-activation-range";
     public static final String ENTITY_ACTIVATION_RANGE_AMBIENT = "ambient-activation-range";
     public static final String ENTITY_ACTIVATION_RANGE_MISC = "misc-activation-range";
+    public static final String TILE_ENTITY_ACTIVATION_RANGE_DEFAULT = "default-activation-range";
+    public static final String TILE_ENTITY_TICK_RATE_DEFAULT = "default-tick-rate";
+    public static final String TILE_ENTITY_ACTIVATION_RANGE = "activation-range";
+    public static final String TILE_ENTITY_TICK_RATE = "tick-rate";
 
     // GENERAL
     public static final String GENERAL_DISABLE_WARNINGS = "disable-warnings";
@@ -91,11 +114,23 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
 
     // MODULES
     public static final String MODULE_ENTITY_ACTIVATION_RANGE = "entity-activation-range";
+    public static final String MODULE_TILE_ENTITY_ACTIVATION_RANGE = "tile-entity-activation-range";
+
+    // SCHEDULER
+    public static final String SCHEDULER_ASYNC_POOL_SIZE = "async-pool-size";
+    public static final String SCHEDULER_SYNC_TICK_BUDGET = "sync-tick-budget";
 
     // WORLD
     public static final String WORLD_INFINITE_WATER_SOURCE = "infinite-water-source";
     public static final String WORLD_FLOWING_LAVA_DECAY = "flowing-lava-decay";
 
+    // WORLD LOADING
+    public static final String WORLD_LOADING = "world-loading";
+    public static final String WORLD_LOADING_LAZY = "lazy-load-worlds";
+    public static final String WORLD_LOADING_INFO_THREADS = "info-load-threads";
+
+    private static final AtomicInteger globalRevision = new AtomicInteger();
+
     private static final String HEADER = "1.0\n"
             + "\n"
             + "# If you need help with the configuration or have any questions related to Sponge,\n"
@@ -152,14 +187,31 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
     }
 
     public void save() {
+        if (write()) {
+            globalRevision.incrementAndGet();
+        }
+    }
+
+    /**
+     * Saves nodes that were only filled in with their default values, such as
+     * newly seen entity types. Settings resolved from this config stay valid,
+     * so the global revision is not changed.
+     */
+    public void saveDefaults() {
+        write();
+    }
+
+    private boolean write() {
         try {
             this.configMapper.serialize(this.root.getNode(this.modId));
             this.loader.save(this.root);
+            return true;
         } catch (IOException e) {
             LogManager.getLogger().error(ExceptionUtils.getStackTrace(e));
         } catch (ObjectMappingException e) {
             LogManager.getLogger().error(ExceptionUtils.getStackTrace(e));
         }
+        return false;
     }
 
     public void reload() {
@@ -167,6 +219,7 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
             this.root = this.loader.load(ConfigurationOptions.defaults()
                     .setHeader(HEADER));
             this.configBase = this.configMapper.populate(this.root.getNode(this.modId));
+            globalRevision.incrementAndGet();
         } catch (IOException e) {
             LogManager.getLogger().error(ExceptionUtils.getStackTrace(e));
         } catch (ObjectMappingException e) {
@@ -174,6 +227,29 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
         }
     }
 
+    /**
+     * Re-reads the config object after nodes were changed directly, such as
+     * by the config command.
+     */
+    public void update() {
+        try {
+            this.configBase = this.configMapper.populate(this.root.getNode(this.modId));
+            globalRevision.incrementAndGet();
+        } catch (ObjectMappingException e) {
+            LogManager.getLogger().error(ExceptionUtils.getStackTrace(e));
+        }
+    }
+
+    /**
+     * Gets a counter that changes whenever any config is saved, reloaded or
+     * updated.
+     *
+     * @return The current global revision
+     */
+    public static int getGlobalRevision() {
+        return globalRevision.get();
+    }
+
     public CommentedConfigurationNode getRootNode() {
         return this.root.getNode(this.modId);
     }
@@ -209,6 +285,12 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
         @Setting(value = "modules")
         private ModuleCategory mixins = new ModuleCategory();
 
+        @Setting
+        private SchedulerCategory scheduler = new SchedulerCategory();
+
+        @Setting(value = WORLD_LOADING)
+        private WorldLoadingCategory worldLoading = new WorldLoadingCategory();
+
         public SqlCategory getSql() {
             return this.sql;
         }
@@ -220,6 +302,14 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
         public ModuleCategory getModules() {
             return this.mixins;
         }
+
+        public SchedulerCategory getScheduler() {
+            return this.scheduler;
+        }
+
+        public WorldLoadingCategory getWorldLoading() {
+            return this.worldLoading;
+        }
     }
 
     public static class DimensionConfig extends ConfigBase {
@@ -244,12 +334,18 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
                 comment = "Controls whether or not this config is enabled.\n"
                         + "Note: If enabled, World configs override Dimension and Global, Dimension configs override Global.")
         protected boolean configEnabled = true;
+        @Setting(value = CHUNK_GC)
+        private ChunkGcCategory chunkGc = new ChunkGcCategory();
         @Setting
         private DebugCategory debug = new DebugCategory();
         @Setting
         private EntityCategory entity = new EntityCategory();
+        @Setting(value = ENTITY_CHUNK_CAPS)
+        private EntityChunkCapCategory entityChunkCaps = new EntityChunkCapCategory();
         @Setting(value = MODULE_ENTITY_ACTIVATION_RANGE)
         private EntityActivationRangeCategory entityActivationRange = new EntityActivationRangeCategory();
+        @Setting(value = MODULE_TILE_ENTITY_ACTIVATION_RANGE)
+        private TileEntityActivationRangeCategory tileEntityActivationRange = new TileEntityActivationRangeCategory();
         @Setting
         private GeneralCategory general = new GeneralCategory();
         @Setting
@@ -265,6 +361,10 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
             this.configEnabled = configEnabled;
         }
 
+        public ChunkGcCategory getChunkGc() {
+            return this.chunkGc;
+        }
+
         public DebugCategory getDebug() {
             return this.debug;
         }
@@ -273,10 +373,18 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
             return this.entity;
         }
 
+        public EntityChunkCapCategory getEntityChunkCaps() {
+            return this.entityChunkCaps;
+        }
+
         public EntityActivationRangeCategory getEntityActivationRange() {
             return this.entityActivationRange;
         }
 
+        public TileEntityActivationRangeCategory getTileEntityActivationRange() {
+            return this.tileEntityActivationRange;
+        }
+
         public GeneralCategory getGeneral() {
             return this.general;
         }
@@ -300,6 +408,43 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
         }
     }
 
+    @ConfigSerializable
+    public static class ChunkGcCategory extends Category {
+
+        @Setting(value = CHUNK_GC_INTERVAL,
+                comment = "Ticks between scans for idle chunks to unload. Set to 0 to disable")
+        private int interval = 0;
+        @Setting(value = CHUNK_GC_IDLE_TICKS,
+                comment = "Ticks a chunk must have gone without player proximity or plugin access before it is unloaded")
+        private int idleTicks = 600;
+        @Setting(value = CHUNK_GC_MAX_UNLOADS_PER_TICK, comment = "Max idle chunks queued for unload per tick")
+        private int maxUnloadsPerTick = 20;
+
+        public int getInterval() {
+            return this.interval;
+        }
+
+        public void setInterval(int interval) {
+            this.interval = interval;
+        }
+
+        public int getIdleTicks() {
+            return this.idleTicks;
+        }
+
+        public void setIdleTicks(int idleTicks) {
+            this.idleTicks = idleTicks;
+        }
+
+        public int getMaxUnloadsPerTick() {
+            return this.maxUnloadsPerTick;
+        }
+
+        public void setMaxUnloadsPerTick(int maxUnloadsPerTick) {
+            this.maxUnloadsPerTick = maxUnloadsPerTick;
+        }
+    }
+
     @ConfigSerializable
     public static class CommandsCategory extends Category {
         @Setting(comment = "A mapping from unqualified command alias to plugin id of the plugin that should handle a certain command")
@@ -397,6 +542,11 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
         private int maxCountWarnSize = 0;
         @Setting(value = ENTITY_ITEM_DESPAWN_RATE, comment = "Controls the time in ticks for when an item despawns.")
         private int itemDespawnRate = 6000;
+        @Setting(value = ENTITY_ITEM_MERGE_RADIUS,
+                comment = "Radius in blocks within which dropped items of the same kind are merged. Set to 0 for vanilla merging")
+        private double itemMergeRadius = 0;
+        @Setting(value = ENTITY_XP_MERGE_RADIUS, comment = "Radius in blocks within which experience orbs are merged. Set to 0 to disable")
+        private double xpMergeRadius = 0;
 
         public int getMaxBoundingBoxSize() {
             return this.maxBoundingBoxSize;
@@ -437,6 +587,94 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
         public void setItemDespawnRate(int itemDespawnRate) {
             this.itemDespawnRate = itemDespawnRate;
         }
+
+        public double getItemMergeRadius() {
+            return this.itemMergeRadius;
+        }
+
+        public void setItemMergeRadius(double itemMergeRadius) {
+            this.itemMergeRadius = itemMergeRadius;
+        }
+
+        public double getXpMergeRadius() {
+            return this.xpMergeRadius;
+        }
+
+        public void setXpMergeRadius(double xpMergeRadius) {
+            this.xpMergeRadius = xpMergeRadius;
+        }
+    }
+
+    @ConfigSerializable
+    public static class EntityChunkCapCategory extends Category {
+
+        @Setting(value = ENTITY_CHUNK_CAP_POLICY,
+                comment = "What to do when a spawn would exceed a cap: deny-spawn, remove-oldest or freeze-ai")
+        private String policy = "deny-spawn";
+        @Setting(value = ENTITY_CHUNK_CAP_MONSTER, comment = "Max monsters per chunk. Set to 0 to disable")
+        private int monsterCap = 0;
+        @Setting(value = ENTITY_CHUNK_CAP_CREATURE, comment = "Max creatures per chunk. Set to 0 to disable")
+        private int creatureCap = 0;
+        @Setting(value = ENTITY_CHUNK_CAP_AQUATIC, comment = "Max aquatic creatures per chunk. Set to 0 to disable")
+        private int aquaticCap = 0;
+        @Setting(value = ENTITY_CHUNK_CAP_AMBIENT, comment = "Max ambient creatures per chunk. Set to 0 to disable")
+        private int ambientCap = 0;
+        @Setting(value = ENTITY_CHUNK_CAP_MISC, comment = "Max other entities, such as items, per chunk. Set to 0 to disable")
+        private int miscCap = 0;
+        @Setting(value = ENTITY_CHUNK_CAP_ENTITIES, comment = "Max entities of a type per chunk, keyed by entity type id such as minecraft:cow")
+        private Map<String, Integer> entityTypeCaps = new HashMap<String, Integer>();
+
+        public String getPolicy() {
+            return this.policy;
+        }
+
+        public void setPolicy(String policy) {
+            this.policy = policy;
+        }
+
+        public int getMonsterCap() {
+            return this.monsterCap;
+        }
+
+        public void setMonsterCap(int monsterCap) {
+            this.monsterCap = monsterCap;
+        }
+
+        public int getCreatureCap() {
+            return this.creatureCap;
+        }
+
+        public void setCreatureCap(int creatureCap) {
+            this.creatureCap = creatureCap;
+        }
+
+        public int getAquaticCap() {
+            return this.aquaticCap;
+        }
+
+        public void setAquaticCap(int aquaticCap) {
+            this.aquaticCap = aquaticCap;
+        }
+
+        public int getAmbientCap() {
+            return this.ambientCap;
+        }
+
+        public void setAmbientCap(int ambientCap) {
+            this.ambientCap = ambientCap;
+        }
+
+        public int getMiscCap() {
+            return this.miscCap;
+        }
+
+        public void setMiscCap(int miscCap) {
+            this.miscCap = miscCap;
+        }
+
+        public Map<String, Integer> getEntityTypeCaps() {
+            return this.entityTypeCaps;
+        }
     }
 
     @ConfigSerializable
@@ -494,6 +732,35 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
         }
     }
 
+    @ConfigSerializable
+    public static class TileEntityActivationRangeCategory extends Category {
+
+        @Setting(value = TILE_ENTITY_ACTIVATION_RANGE_DEFAULT,
+                comment = "Tile entities further than this many blocks from every player tick at the reduced rate. Set to 0 to disable.\n"
+                        + "Override per tile entity with <modid>.<tile>." + TILE_ENTITY_ACTIVATION_RANGE)
+        private int defaultActivationRange = 64;
+        @Setting(value = TILE_ENTITY_TICK_RATE_DEFAULT,
+                comment = "Inactive tile entities tick once every this many ticks.\n"
+                        + "Override per tile entity with <modid>.<tile>." + TILE_ENTITY_TICK_RATE)
+        private int defaultTickRate = 20;
+
+        public int getDefaultActivationRange() {
+            return this.defaultActivationRange;
+        }
+
+        public void setDefaultActivationRange(int defaultActivationRange) {
+            this.defaultActivationRange = defaultActivationRange;
+        }
+
+        public int getDefaultTickRate() {
+            return this.defaultTickRate;
+        }
+
+        public void setDefaultTickRate(int defaultTickRate) {
+            this.defaultTickRate = defaultTickRate;
+        }
+    }
+
     @ConfigSerializable
     public static class LoggingCategory extends Category {
 
@@ -584,6 +851,8 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
 
         @Setting(value = MODULE_ENTITY_ACTIVATION_RANGE)
         private boolean pluginEntityActivation = true;
+        @Setting(value = MODULE_TILE_ENTITY_ACTIVATION_RANGE, comment = "Tick tile entities far away from players at a reduced rate")
+        private boolean pluginTileEntityActivation = false;
 
         public boolean usePluginEntityActivation() {
             return this.pluginEntityActivation;
@@ -592,6 +861,71 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
         public void setPluginEntityActivation(boolean pluginEntityActivation) {
             this.pluginEntityActivation = pluginEntityActivation;
         }
+
+        public boolean usePluginTileEntityActivation() {
+            return this.pluginTileEntityActivation;
+        }
+
+        public void setPluginTileEntityActivation(boolean pluginTileEntityActivation) {
+            this.pluginTileEntityActivation = pluginTileEntityActivation;
+        }
+    }
+
+    @ConfigSerializable
+    public static class SchedulerCategory extends Category {
+
+        @Setting(value = SCHEDULER_ASYNC_POOL_SIZE,
+                comment = "Maximum number of threads running asynchronous plugin tasks. Set to 0 to use the number of processors.\n"
+                        + "Tasks that are due while every thread is busy wait, so as many long-running tasks as threads\n"
+                        + "delay all other asynchronous tasks")
+        private int asyncPoolSize = 0;
+        @Setting(value = SCHEDULER_SYNC_TICK_BUDGET,
+                comment = "Milliseconds per tick synchronous plugin tasks may use before the remaining due tasks are deferred\n"
+                        + "to the next tick. A task is never deferred twice in a row. Set to 0 to disable")
+        private int syncTickBudget = 0;
+
+        public int getAsyncPoolSize() {
+            return this.asyncPoolSize;
+        }
+
+        public void setAsyncPoolSize(int asyncPoolSize) {
+            this.asyncPoolSize = asyncPoolSize;
+        }
+
+        public int getSyncTickBudget() {
+            return this.syncTickBudget;
+        }
+
+        public void setSyncTickBudget(int syncTickBudget) {
+            this.syncTickBudget = syncTickBudget;
+        }
+    }
+
+    @ConfigSerializable
+    public static class WorldLoadingCategory extends Category {
+
+        @Setting(value = WORLD_LOADING_LAZY,
+                comment = "Defer loading worlds that are not set to load on startup until they are first accessed.\n"
+                        + "The overworld, nether and end are always loaded")
+        private boolean lazyLoadWorlds = false;
+        @Setting(value = WORLD_LOADING_INFO_THREADS, comment = "Number of threads reading level.dat files at startup")
+        private int infoLoadThreads = 4;
+
+        public boolean lazyLoadWorlds() {
+            return this.lazyLoadWorlds;
+        }
+
+        public void setLazyLoadWorlds(boolean lazyLoadWorlds) {
+            this.lazyLoadWorlds = lazyLoadWorlds;
+        }
+
+        public int getInfoLoadThreads() {
+            return this.infoLoadThreads;
+        }
+
+        public void setInfoLoadThreads(int infoLoadThreads) {
+            this.infoLoadThreads = infoLoadThreads;
+        }
     }
 
     @ConfigSerializable
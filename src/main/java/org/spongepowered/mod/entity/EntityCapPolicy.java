@@ -0,0 +1,62 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.entity;
+
+/**
+ * What to do when spawning an entity would exceed a per chunk entity cap.
+ */
+public enum EntityCapPolicy {
+    /**
+     * The spawn is cancelled.
+     */
+    DENY_SPAWN,
+    /**
+     * The oldest entity counting towards the cap is removed to make room.
+     */
+    REMOVE_OLDEST,
+    /**
+     * The entity spawns with its AI disabled. Entities without AI are denied
+     * instead.
+     */
+    FREEZE_AI;
+
+    /**
+     * Parses a policy as written in the config, such as {@code remove-oldest}.
+     *
+     * @param name The name of the policy
+     * @return The policy, or {@link #DENY_SPAWN} if the name is not known
+     */
+    public static EntityCapPolicy fromConfig(String name) {
+        if (name != null) {
+            String normalized = name.trim().toUpperCase().replace('-', '_');
+            for (EntityCapPolicy policy : values()) {
+                if (policy.name().equals(normalized)) {
+                    return policy;
+                }
+            }
+        }
+        return DENY_SPAWN;
+    }
+}
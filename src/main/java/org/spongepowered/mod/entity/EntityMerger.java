@@ -0,0 +1,171 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.entity;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Finds merge candidates for dropped items and experience orbs and keeps
+ * per world counts of how many entities were merged away.
+ */
+public final class EntityMerger {
+
+    private static final Map<World, MergeStats> stats = new WeakHashMap<World, MergeStats>();
+
+    private EntityMerger() {
+    }
+
+    /**
+     * Gets the living entities of the given class within the given radius of
+     * an entity, excluding the entity itself. Only the entity lists of the
+     * chunk sections the radius overlaps are scanned.
+     *
+     * @param entity The entity to search around
+     * @param type The class of the entities to find, subclasses included
+     * @param radius The radius to search in, in blocks
+     * @param <T> The type of entity to find
+     * @return The entities found
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T extends Entity> List<T> getNearby(Entity entity, Class<T> type, double radius) {
+        List<T> nearby = new ArrayList<T>();
+        World world = entity.worldObj;
+        int minChunkX = MathHelper.floor_double(entity.posX - radius) >> 4;
+        int maxChunkX = MathHelper.floor_double(entity.posX + radius) >> 4;
+        int minChunkZ = MathHelper.floor_double(entity.posZ - radius) >> 4;
+        int maxChunkZ = MathHelper.floor_double(entity.posZ + radius) >> 4;
+        int minSection = Math.max(0, MathHelper.floor_double(entity.posY - radius) >> 4);
+        int maxSection = MathHelper.floor_double(entity.posY + radius) >> 4;
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                if (!world.getChunkProvider().chunkExists(chunkX, chunkZ)) {
+                    continue;
+                }
+                Chunk chunk = world.getChunkFromChunkCoords(chunkX, chunkZ);
+                Iterable[] sections = chunk.getEntityLists();
+                for (int section = minSection; section <= maxSection && section < sections.length; section++) {
+                    for (Object o : sections[section]) {
+                        Entity other = (Entity) o;
+                        if (other != entity && type.isInstance(other) && !other.isDead
+                                && Math.abs(other.posX - entity.posX) <= radius
+                                && Math.abs(other.posY - entity.posY) <= radius
+                                && Math.abs(other.posZ - entity.posZ) <= radius) {
+                            nearby.add((T) other);
+                        }
+                    }
+                }
+            }
+        }
+        return nearby;
+    }
+
+    public static void recordItemsMerged(World world, int count) {
+        getStats(world).record(world, count, 0);
+    }
+
+    public static void recordOrbsMerged(World world, int count) {
+        getStats(world).record(world, 0, count);
+    }
+
+    public static MergeStats getStats(World world) {
+        MergeStats worldStats = stats.get(world);
+        if (worldStats == null) {
+            worldStats = new MergeStats();
+            stats.put(world, worldStats);
+        }
+        return worldStats;
+    }
+
+    public static final class MergeStats {
+
+        private long tick;
+        private int itemsThisTick;
+        private int orbsThisTick;
+        private int itemsLastTick;
+        private int orbsLastTick;
+        private long itemsTotal;
+        private long orbsTotal;
+
+        void record(World world, int items, int orbs) {
+            rollOver(world.getTotalWorldTime());
+            this.itemsThisTick += items;
+            this.orbsThisTick += orbs;
+            this.itemsTotal += items;
+            this.orbsTotal += orbs;
+        }
+
+        private void rollOver(long now) {
+            if (now != this.tick) {
+                boolean consecutive = now == this.tick + 1;
+                this.itemsLastTick = consecutive ? this.itemsThisTick : 0;
+                this.orbsLastTick = consecutive ? this.orbsThisTick : 0;
+                this.itemsThisTick = 0;
+                this.orbsThisTick = 0;
+                this.tick = now;
+            }
+        }
+
+        /**
+         * Gets the number of items merged away during the last completed
+         * tick of the world.
+         *
+         * @param world The world these stats are for
+         * @return The number of items merged
+         */
+        public int getItemsMergedLastTick(World world) {
+            rollOver(world.getTotalWorldTime());
+            return this.itemsLastTick;
+        }
+
+        /**
+         * Gets the number of experience orbs merged away during the last
+         * completed tick of the world.
+         *
+         * @param world The world these stats are for
+         * @return The number of orbs merged
+         */
+        public int getOrbsMergedLastTick(World world) {
+            rollOver(world.getTotalWorldTime());
+            return this.orbsLastTick;
+        }
+
+        public long getItemsMergedTotal() {
+            return this.itemsTotal;
+        }
+
+        public long getOrbsMergedTotal() {
+            return this.orbsTotal;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.gson.stream.JsonWriter;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Opt-in timing instrumentation for the handlers of a {@link SpongeEventBus}.
+ *
+ * <p>
+ * While disabled, the only cost on the posting path is a single volatile
+ * read. Timings are kept per plugin, event class and handler, and survive
+ * the handler being unregistered and registered again.
+ * </p>
+ */
+public final class EventTimings {
+
+    private static final Comparator<HandlerTiming> BY_TOTAL_TIME = new Comparator<HandlerTiming>() {
+
+        @Override
+        public int compare(HandlerTiming o1, HandlerTiming o2) {
+            long t1 = o1.getTotalNanos();
+            long t2 = o2.getTotalNanos();
+            return t1 < t2 ? 1 : (t1 == t2 ? 0 : -1);
+        }
+    };
+
+    private final ConcurrentMap<Key, HandlerTiming> timings = Maps.newConcurrentMap();
+    private volatile boolean enabled;
+    private volatile long enabledSince;
+
+    EventTimings() {
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) {
+            this.enabledSince = System.currentTimeMillis();
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the time at which timings were last enabled or reset.
+     *
+     * @return The time, in milliseconds since the epoch
+     */
+    public long getEnabledSince() {
+        return this.enabledSince;
+    }
+
+    HandlerTiming getTiming(PluginContainer plugin, Class<?> eventClass, String handlerName) {
+        Key key = new Key(plugin, eventClass, handlerName);
+        HandlerTiming timing = this.timings.get(key);
+        if (timing == null) {
+            timing = new HandlerTiming(plugin, eventClass, handlerName);
+            HandlerTiming existing = this.timings.putIfAbsent(key, timing);
+            if (existing != null) {
+                timing = existing;
+            }
+        }
+        return timing;
+    }
+
+    /**
+     * Gets a snapshot of all handler timings which were called at least
+     * once, ordered by descending total time.
+     *
+     * @return The ranked timings
+     */
+    public List<HandlerTiming> getRankedTimings() {
+        List<HandlerTiming> result = Lists.newArrayList();
+        for (HandlerTiming timing : this.timings.values()) {
+            if (timing.getCount() > 0) {
+                result.add(timing);
+            }
+        }
+        Collections.sort(result, BY_TOTAL_TIME);
+        return result;
+    }
+
+    public void reset() {
+        for (HandlerTiming timing : this.timings.values()) {
+            timing.reset();
+        }
+        this.enabledSince = System.currentTimeMillis();
+    }
+
+    public void export(File file) throws IOException {
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+
+        FileWriter fileWriter = new FileWriter(file);
+        try {
+            JsonWriter writer = new JsonWriter(fileWriter);
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("since").value(this.enabledSince);
+            writer.name("sampled").value(System.currentTimeMillis() - this.enabledSince);
+            writer.name("handlers").beginArray();
+            for (HandlerTiming timing : getRankedTimings()) {
+                writer.beginObject();
+                writer.name("plugin").value(timing.getPlugin() == null ? null : timing.getPlugin().getId());
+                writer.name("event").value(timing.getEventClass().getName());
+                writer.name("handler").value(timing.getHandlerName());
+                writer.name("count").value(timing.getCount());
+                writer.name("totalNanos").value(timing.getTotalNanos());
+                writer.name("maxNanos").value(timing.getMaxNanos());
+                writer.name("averageNanos").value(timing.getAverageNanos());
+                writer.name("p50Nanos").value(timing.getPercentileNanos(0.5));
+                writer.name("p99Nanos").value(timing.getPercentileNanos(0.99));
+                writer.name("histogram").beginArray();
+                for (int i = 0; i < HandlerTiming.BUCKETS; i++) {
+                    writer.value(timing.getHistogramCount(i));
+                }
+                writer.endArray();
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+            writer.close();
+        } finally {
+            fileWriter.close();
+        }
+    }
+
+    private static final class Key {
+
+        private final PluginContainer plugin;
+        private final Class<?> eventClass;
+        private final String handlerName;
+
+        Key(PluginContainer plugin, Class<?> eventClass, String handlerName) {
+            this.plugin = plugin;
+            this.eventClass = eventClass;
+            this.handlerName = handlerName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return (this.plugin == null ? key.plugin == null : this.plugin.equals(key.plugin))
+                    && this.eventClass.equals(key.eventClass)
+                    && this.handlerName.equals(key.handlerName);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = this.plugin == null ? 0 : this.plugin.hashCode();
+            result = 31 * result + this.eventClass.hashCode();
+            result = 31 * result + this.handlerName.hashCode();
+            return result;
+        }
+    }
+
+}
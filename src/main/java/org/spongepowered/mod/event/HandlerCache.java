@@ -28,37 +28,134 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.spongepowered.api.event.Order;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.List;
 
-class HandlerCache {
+/**
+ * An immutable, pre-sorted snapshot of the handlers for a single event type.
+ *
+ * <p>
+ * Instances are never modified once published; registering or unregistering
+ * a handler produces a new snapshot through {@link #with} or
+ * {@link #without} which replaces the old one in the event bus.
+ * </p>
+ */
+final class HandlerCache {
+
+    private static final RegisteredHandler[] NO_HANDLERS = new RegisteredHandler[0];
 
-    private final List<Handler> handlers;
-    private final EnumMap<Order, List<Handler>> orderGrouped;
+    private final RegisteredHandler[] registrations;
+    private final EnumMap<Order, RegisteredHandler[]> orderGrouped;
+    private final RegisteredHandler[] syncHandlers;
+    private final RegisteredHandler[] asyncHandlers;
 
-    @SuppressWarnings("unchecked")
     HandlerCache(List<RegisteredHandler> registrations) {
-        this.handlers = Lists.newArrayList();
-        for (RegisteredHandler reg : registrations) {
-            this.handlers.add(reg.getHandler());
-        }
+        this(sort(registrations.toArray(new RegisteredHandler[registrations.size()])));
+    }
+
+    private HandlerCache(RegisteredHandler[] registrations) {
+        this.registrations = registrations;
 
+        // Registrations are sorted by order, so each group is a contiguous range
         this.orderGrouped = Maps.newEnumMap(Order.class);
+        int start = 0;
         for (Order order : Order.values()) {
-            this.orderGrouped.put(order, new ArrayList<Handler>());
+            int end = start;
+            while (end < registrations.length && registrations[end].getOrder() == order) {
+                end++;
+            }
+            this.orderGrouped.put(order, start == end ? NO_HANDLERS : Arrays.copyOfRange(registrations, start, end));
+            start = end;
+        }
+
+        // Both subsets keep the order of the full array
+        List<RegisteredHandler> sync = Lists.newArrayList();
+        List<RegisteredHandler> async = Lists.newArrayList();
+        for (RegisteredHandler registration : registrations) {
+            if (registration.isAsyncSafe()) {
+                async.add(registration);
+            } else {
+                sync.add(registration);
+            }
+        }
+        this.syncHandlers = sync.toArray(new RegisteredHandler[sync.size()]);
+        this.asyncHandlers = async.toArray(new RegisteredHandler[async.size()]);
+    }
+
+    private static RegisteredHandler[] sort(RegisteredHandler[] registrations) {
+        // Arrays.sort on objects is stable, so registration order is kept within an order
+        Arrays.sort(registrations);
+        return registrations;
+    }
+
+    /**
+     * Returns a copy of this cache with the given handler inserted after all
+     * existing handlers of the same or an earlier order.
+     *
+     * @param registration The handler to add
+     * @return The new cache
+     */
+    HandlerCache with(RegisteredHandler registration) {
+        int index = 0;
+        while (index < this.registrations.length && this.registrations[index].compareTo(registration) <= 0) {
+            index++;
         }
-        for (RegisteredHandler reg : registrations) {
-            this.orderGrouped.get(reg.getOrder()).add(reg.getHandler());
+
+        RegisteredHandler[] result = new RegisteredHandler[this.registrations.length + 1];
+        System.arraycopy(this.registrations, 0, result, 0, index);
+        result[index] = registration;
+        System.arraycopy(this.registrations, index, result, index + 1, this.registrations.length - index);
+        return new HandlerCache(result);
+    }
+
+    /**
+     * Returns a copy of this cache without the given handler, or this cache
+     * if the handler is not present.
+     *
+     * @param registration The handler to remove
+     * @return The new cache
+     */
+    HandlerCache without(RegisteredHandler registration) {
+        for (int i = 0; i < this.registrations.length; i++) {
+            if (this.registrations[i].equals(registration)) {
+                RegisteredHandler[] result = new RegisteredHandler[this.registrations.length - 1];
+                System.arraycopy(this.registrations, 0, result, 0, i);
+                System.arraycopy(this.registrations, i + 1, result, i, result.length - i);
+                return new HandlerCache(result);
+            }
         }
+        return this;
     }
 
-    public List<Handler> getHandlers() {
-        return this.handlers;
+    public boolean isEmpty() {
+        return this.registrations.length == 0;
     }
 
-    public List<Handler> getHandlersByOrder(Order order) {
+    public RegisteredHandler[] getHandlers() {
+        return this.registrations;
+    }
+
+    public RegisteredHandler[] getHandlersByOrder(Order order) {
         return this.orderGrouped.get(order);
     }
 
+    /**
+     * Gets the handlers which must be called on the posting thread.
+     *
+     * @return The handlers, sorted by order
+     */
+    public RegisteredHandler[] getSyncHandlers() {
+        return this.syncHandlers;
+    }
+
+    /**
+     * Gets the handlers which are marked as {@link AsyncSafe}.
+     *
+     * @return The handlers, sorted by order
+     */
+    public RegisteredHandler[] getAsyncHandlers() {
+        return this.asyncHandlers;
+    }
+
 }
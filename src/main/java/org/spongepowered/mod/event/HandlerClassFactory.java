@@ -39,12 +39,15 @@ import static org.objectweb.asm.Opcodes.GETFIELD;
 import static org.objectweb.asm.Opcodes.IADD;
 import static org.objectweb.asm.Opcodes.ICONST_0;
 import static org.objectweb.asm.Opcodes.ICONST_1;
+import static org.objectweb.asm.Opcodes.IFEQ;
 import static org.objectweb.asm.Opcodes.IFNE;
 import static org.objectweb.asm.Opcodes.IFNULL;
 import static org.objectweb.asm.Opcodes.IF_ACMPEQ;
 import static org.objectweb.asm.Opcodes.IF_ACMPNE;
 import static org.objectweb.asm.Opcodes.ILOAD;
 import static org.objectweb.asm.Opcodes.IMUL;
+import static org.objectweb.asm.Opcodes.INSTANCEOF;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
 import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
 import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
 import static org.objectweb.asm.Opcodes.IRETURN;
@@ -61,7 +64,9 @@ import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
+import org.spongepowered.api.event.Cancellable;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -70,15 +75,22 @@ class HandlerClassFactory implements HandlerFactory {
     private final AtomicInteger index = new AtomicInteger();
     private final LocalClassLoader classLoader = new LocalClassLoader(HandlerClassFactory.class.getClassLoader());
     private final String targetPackage;
-    private final LoadingCache<CacheKey, Class<?>> cache = CacheBuilder.newBuilder()
-            .concurrencyLevel(1)
-            .weakValues()
+
+    /**
+     * The constructors of the generated classes, looked up once per class.
+     *
+     * <p>
+     * Generated classes are strongly held by {@link #classLoader} anyway, so
+     * there is nothing to gain from weak values here.
+     * </p>
+     */
+    private final LoadingCache<CacheKey, Constructor<? extends Handler>> cache = CacheBuilder.newBuilder()
             .build(
-                    new CacheLoader<CacheKey, Class<?>>() {
+                    new CacheLoader<CacheKey, Constructor<? extends Handler>>() {
 
                         @Override
-                        public Class<?> load(CacheKey key) {
-                            return createClass(key.type, key.method, key.ignoreCancelled);
+                        public Constructor<? extends Handler> load(CacheKey key) throws Exception {
+                            return createClass(key.type, key.method, key.ignoreCancelled).getConstructor(key.type, Method.class);
                         }
                     });
 
@@ -98,15 +110,11 @@ class HandlerClassFactory implements HandlerFactory {
 
     @Override
     public Handler createHandler(Object object, Method method, boolean ignoreCancelled) {
-        synchronized (this.cache) {
-            CacheKey key = new CacheKey(object.getClass(), method, ignoreCancelled);
-            try {
-                return (Handler) this.cache.getUnchecked(key)
-                        .getConstructor(object.getClass(), Method.class)
-                        .newInstance(object, method);
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to create a handler", e);
-            }
+        CacheKey key = new CacheKey(object.getClass(), method, ignoreCancelled);
+        try {
+            return this.cache.getUnchecked(key).newInstance(object, method);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create a handler", e);
         }
     }
 
@@ -158,6 +166,20 @@ class HandlerClassFactory implements HandlerFactory {
         {
             mv = cw.visitMethod(ACC_PUBLIC, "handle", "(Lorg/spongepowered/api/event/Event;)V", null, null);
             mv.visitCode();
+            if (ignoreCancelled) {
+                // Equivalent to: if (event instanceof Cancellable && ((Cancellable) event).isCancelled()) return;
+                String cancellableInternalName = Type.getInternalName(Cancellable.class);
+                Label call = new Label();
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitTypeInsn(INSTANCEOF, cancellableInternalName);
+                mv.visitJumpInsn(IFEQ, call);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitTypeInsn(CHECKCAST, cancellableInternalName);
+                mv.visitMethodInsn(INVOKEINTERFACE, cancellableInternalName, "isCancelled", "()Z", true);
+                mv.visitJumpInsn(IFEQ, call);
+                mv.visitInsn(RETURN);
+                mv.visitLabel(call);
+            }
             mv.visitVarInsn(ALOAD, 0);
             mv.visitFieldInsn(GETFIELD, createdInternalName, "object", "L" + invokedInternalName + ";");
             mv.visitVarInsn(ALOAD, 1);
@@ -0,0 +1,153 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Accumulated timings of a single event handler.
+ *
+ * <p>
+ * Latencies are additionally recorded into a histogram with one bucket per
+ * power of two nanoseconds, which keeps recording constant-time while still
+ * giving a useful picture of the distribution.
+ * </p>
+ */
+public final class HandlerTiming {
+
+    static final int BUCKETS = 64;
+
+    private final PluginContainer plugin;
+    private final Class<?> eventClass;
+    private final String handlerName;
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    HandlerTiming(PluginContainer plugin, Class<?> eventClass, String handlerName) {
+        this.plugin = plugin;
+        this.eventClass = eventClass;
+        this.handlerName = handlerName;
+    }
+
+    void record(long nanos) {
+        this.count.incrementAndGet();
+        this.totalNanos.addAndGet(nanos);
+        this.histogram.incrementAndGet(bucketOf(nanos));
+
+        long max;
+        do {
+            max = this.maxNanos.get();
+        } while (nanos > max && !this.maxNanos.compareAndSet(max, nanos));
+    }
+
+    void reset() {
+        this.count.set(0);
+        this.totalNanos.set(0);
+        this.maxNanos.set(0);
+        for (int i = 0; i < BUCKETS; i++) {
+            this.histogram.set(i, 0);
+        }
+    }
+
+    static int bucketOf(long nanos) {
+        return nanos <= 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    public PluginContainer getPlugin() {
+        return this.plugin;
+    }
+
+    public Class<?> getEventClass() {
+        return this.eventClass;
+    }
+
+    public String getHandlerName() {
+        return this.handlerName;
+    }
+
+    public long getCount() {
+        return this.count.get();
+    }
+
+    public long getTotalNanos() {
+        return this.totalNanos.get();
+    }
+
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    public long getAverageNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : getTotalNanos() / count;
+    }
+
+    /**
+     * Gets the number of calls which took at least {@code 2^bucket} and less
+     * than {@code 2^(bucket + 1)} nanoseconds.
+     *
+     * @param bucket The bucket index, from 0 to 63
+     * @return The number of calls in the bucket
+     */
+    public long getHistogramCount(int bucket) {
+        return this.histogram.get(bucket);
+    }
+
+    /**
+     * Estimates the latency below which the given fraction of calls
+     * completed, as the upper bound of the matching histogram bucket.
+     *
+     * @param percentile The fraction of calls, between 0 and 1
+     * @return The estimated latency in nanoseconds
+     */
+    public long getPercentileNanos(double percentile) {
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.histogram.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long threshold = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= threshold) {
+                return i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+}
@@ -27,20 +27,26 @@ package org.spongepowered.mod.event;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.event.Order;
 
+import javax.annotation.Nullable;
+
 class RegisteredHandler implements Comparable<RegisteredHandler> {
 
     private final Handler handler;
     private final Order order;
     private final PluginContainer container;
+    @Nullable private final HandlerTiming timing;
+    private final boolean asyncSafe;
 
-    RegisteredHandler(Handler handler, Order order, PluginContainer container) {
+    RegisteredHandler(Handler handler, Order order, PluginContainer container, @Nullable HandlerTiming timing, boolean asyncSafe) {
         this.handler = handler;
         this.order = order;
         this.container = container;
+        this.timing = timing;
+        this.asyncSafe = asyncSafe;
     }
 
     static RegisteredHandler createForComparison(Handler handler) {
-        return new RegisteredHandler(handler, null, null);
+        return new RegisteredHandler(handler, null, null, null, false);
     }
 
     public Handler getHandler() {
@@ -55,6 +61,15 @@ class RegisteredHandler implements Comparable<RegisteredHandler> {
         return this.container;
     }
 
+    @Nullable
+    public HandlerTiming getTiming() {
+        return this.timing;
+    }
+
+    public boolean isAsyncSafe() {
+        return this.asyncSafe;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
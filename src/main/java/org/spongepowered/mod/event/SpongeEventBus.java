@@ -25,17 +25,23 @@
 package org.spongepowered.mod.event;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
+import com.google.common.base.Functions;
 import com.google.common.base.Optional;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
+import net.minecraft.server.MinecraftServer;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.IEventListener;
 import org.spongepowered.api.event.Cancellable;
@@ -46,38 +52,55 @@ import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.plugin.PluginManager;
 import org.spongepowered.api.service.event.EventManager;
 import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.service.scheduler.SyncExecutor;
+import org.spongepowered.mod.service.scheduler.SyncScheduler;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
 public class SpongeEventBus implements EventManager {
 
+    private static final int ASYNC_POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    private static final int ASYNC_QUEUE_SIZE = 1024;
+
     private final Object lock = new Object();
     private final PluginManager pluginManager;
     private final HandlerFactory handlerFactory = new HandlerClassFactory("org.spongepowered.mod.event.handler");
     private final Multimap<Class<?>, RegisteredHandler> handlersByEvent = HashMultimap.create();
+    private final EventTimings timings = new EventTimings();
+
+    /**
+     * The bounded pool which runs {@link AsyncSafe} handlers for events
+     * posted with {@link #postAsync(Event)}. If the queue is full, the event
+     * is rejected rather than having its handlers run on the posting thread.
+     */
+    private final ListeningExecutorService asyncExecutor = MoreExecutors.listeningDecorator(new ThreadPoolExecutor(
+            ASYNC_POOL_SIZE, ASYNC_POOL_SIZE, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<Runnable>(ASYNC_QUEUE_SIZE),
+            new ThreadFactoryBuilder().setNameFormat("Sponge Async Event Thread #%d").setDaemon(true).build()));
 
     /**
      * A cache of all the handlers for an event type for quick event posting.
      *
      * <p>
-     * The cache is currently entirely invalidated if handlers are added or
-     * removed.
+     * Each entry is an immutable snapshot which is replaced, never modified,
+     * while holding {@link #lock}. Registering or unregistering a handler only
+     * patches the entries of the affected event type and its subtypes, so
+     * posting an event never has to take the lock or re-bake the type
+     * hierarchy once the type has been seen.
      * </p>
      */
-    private final LoadingCache<Class<?>, HandlerCache> handlersCache =
-            CacheBuilder.newBuilder().build(new CacheLoader<Class<?>, HandlerCache>() {
-
-                @Override
-                public HandlerCache load(Class<?> type) throws Exception {
-                    return bakeHandlers(type);
-                }
-            });
+    private final ConcurrentMap<Class<?>, HandlerCache> handlersCache = Maps.newConcurrentMap();
 
     private final ImmutableMap<EventPriority, Order> priorityMappings = new ImmutableMap.Builder<EventPriority, Order>()
             .put(EventPriority.HIGHEST, Order.FIRST)
@@ -108,21 +131,66 @@ public class SpongeEventBus implements EventManager {
         List<RegisteredHandler> registrations = Lists.newArrayList();
         Set<Class<?>> types = (Set) TypeToken.of(rootType).getTypes().rawTypes();
 
-        synchronized (this.lock) {
-            for (Class<?> type : types) {
-                if (Event.class.isAssignableFrom(type)) {
-                    registrations.addAll(this.handlersByEvent.get(type));
-                }
+        for (Class<?> type : types) {
+            if (Event.class.isAssignableFrom(type)) {
+                registrations.addAll(this.handlersByEvent.get(type));
             }
         }
 
-        Collections.sort(registrations);
-
         return new HandlerCache(registrations);
     }
 
     private HandlerCache getHandlerCache(Class<?> type) {
-        return this.handlersCache.getUnchecked(type);
+        HandlerCache cache = this.handlersCache.get(type);
+        if (cache == null) {
+            synchronized (this.lock) {
+                cache = this.handlersCache.get(type);
+                if (cache == null) {
+                    cache = bakeHandlers(type);
+                    this.handlersCache.put(type, cache);
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Checks whether any handler is registered for the given event type or
+     * one of its supertypes.
+     *
+     * <p>
+     * This is cheap enough to be consulted before constructing or posting
+     * high-frequency events, which can then be skipped entirely when no
+     * plugin listens to them.
+     * </p>
+     *
+     * @param type The event type
+     * @return True if posting an event of this type would call any handler
+     */
+    public boolean hasHandlers(Class<?> type) {
+        return !getHandlerCache(type).isEmpty();
+    }
+
+    private void addToCaches(Class<?> eventClass, RegisteredHandler registration) {
+        if (!Event.class.isAssignableFrom(eventClass)) {
+            return;
+        }
+        for (Class<?> type : this.handlersCache.keySet()) {
+            if (eventClass.isAssignableFrom(type)) {
+                this.handlersCache.put(type, this.handlersCache.get(type).with(registration));
+            }
+        }
+    }
+
+    private void removeFromCaches(Class<?> eventClass, RegisteredHandler registration) {
+        if (!Event.class.isAssignableFrom(eventClass)) {
+            return;
+        }
+        for (Class<?> type : this.handlersCache.keySet()) {
+            if (eventClass.isAssignableFrom(type)) {
+                this.handlersCache.put(type, this.handlersCache.get(type).without(registration));
+            }
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -140,7 +208,8 @@ public class SpongeEventBus implements EventManager {
                 if (isValidHandler(method)) {
                     Class<Event> eventClass = (Class<Event>) paramTypes[0];
                     Handler handler = this.handlerFactory.createHandler(object, method, subscribe.ignoreCancelled());
-                    subscribers.add(new Subscriber(eventClass, handler, subscribe.order()));
+                    subscribers.add(new Subscriber(eventClass, handler, subscribe.order(), type.getName() + "#" + method.getName(),
+                            method.isAnnotationPresent(AsyncSafe.class)));
                 } else {
                     SpongeMod.instance.getLogger().warn("The method {} on {} has @{} but has the wrong signature",
                             method, method.getDeclaringClass().getName(), Subscribe.class.getName());
@@ -184,15 +253,14 @@ public class SpongeEventBus implements EventManager {
             boolean changed = false;
 
             for (Subscriber sub : subscribers) {
-                if (this.handlersByEvent.put(sub.getEventClass(), new RegisteredHandler(sub.getHandler(), sub.getOrder(), container))) {
+                HandlerTiming timing = this.timings.getTiming(container, sub.getEventClass(), sub.getName());
+                RegisteredHandler registration = new RegisteredHandler(sub.getHandler(), sub.getOrder(), container, timing, sub.isAsyncSafe());
+                if (this.handlersByEvent.put(sub.getEventClass(), registration)) {
+                    addToCaches(sub.getEventClass(), registration);
                     changed = true;
                 }
             }
 
-            if (changed) {
-                this.handlersCache.invalidateAll();
-            }
-
             return changed;
         }
     }
@@ -216,22 +284,41 @@ public class SpongeEventBus implements EventManager {
             boolean changed = false;
 
             for (Subscriber sub : subscribers) {
-                if (this.handlersByEvent.remove(sub.getEventClass(), RegisteredHandler.createForComparison(sub.getHandler()))) {
+                RegisteredHandler registration = RegisteredHandler.createForComparison(sub.getHandler());
+                if (this.handlersByEvent.remove(sub.getEventClass(), registration)) {
+                    removeFromCaches(sub.getEventClass(), registration);
                     changed = true;
                 }
             }
 
-            if (changed) {
-                this.handlersCache.invalidateAll();
-            }
-
             return changed;
         }
     }
 
-    private void callListener(Handler handler, Event event) {
+    /**
+     * Gets the handler timings of this event bus.
+     *
+     * @return The timings
+     */
+    public EventTimings getTimings() {
+        return this.timings;
+    }
+
+    private void callListener(RegisteredHandler registration, Event event) {
+        if (this.timings.isEnabled() && registration.getTiming() != null) {
+            long start = System.nanoTime();
+            try {
+                registration.getHandler().handle(event);
+            } catch (Throwable t) {
+                SpongeMod.instance.getLogger().warn("A handler raised an error when handling an event", t);
+            } finally {
+                registration.getTiming().record(System.nanoTime() - start);
+            }
+            return;
+        }
+
         try {
-            handler.handle(event);
+            registration.getHandler().handle(event);
         } catch (Throwable t) {
             SpongeMod.instance.getLogger().warn("A handler raised an error when handling an event", t);
         }
@@ -249,7 +336,7 @@ public class SpongeEventBus implements EventManager {
 
                 for (int orderIndex = 0; orderIndex <= order.ordinal(); orderIndex++) {
                     Order currentOrder = Order.values()[orderIndex];
-                    for (Handler handler : handlerCache.getHandlersByOrder(currentOrder)) {
+                    for (RegisteredHandler handler : handlerCache.getHandlersByOrder(currentOrder)) {
                         callListener(handler, (Event) forgeEvent);
                     }
                 }
@@ -264,7 +351,7 @@ public class SpongeEventBus implements EventManager {
 
         for (int orderIndex = orderStart.ordinal(); orderIndex <= Order.POST.ordinal(); orderIndex++) {
             Order currentOrder = Order.values()[orderIndex];
-            for (Handler handler : handlerCache.getHandlersByOrder(currentOrder)) {
+            for (RegisteredHandler handler : handlerCache.getHandlersByOrder(currentOrder)) {
                 callListener(handler, (Event) forgeEvent);
             }
         }
@@ -272,11 +359,39 @@ public class SpongeEventBus implements EventManager {
         return forgeEvent.isCancelable() && forgeEvent.isCanceled();
     }
 
+    /**
+     * Posts a Sponge event that has no Sponge handlers to its Forge
+     * listeners only, skipping the handler cache and order interleaving.
+     *
+     * <p>
+     * Like {@link #post(net.minecraftforge.fml.common.eventhandler.Event,
+     * IEventListener[])}, an error raised by one listener is logged and the
+     * remaining listeners are still called.
+     * </p>
+     *
+     * @param forgeEvent The event
+     * @param listeners The Forge listeners of the event
+     * @return Whether the event was cancelled
+     */
+    public boolean postForgeOnly(net.minecraftforge.fml.common.eventhandler.Event forgeEvent, IEventListener[] listeners) {
+        checkNotNull(forgeEvent, "forgeEvent");
+
+        for (IEventListener listener : listeners) {
+            try {
+                listener.invoke(forgeEvent);
+            } catch (Throwable throwable) {
+                SpongeMod.instance.getLogger().catching(throwable);
+            }
+        }
+
+        return forgeEvent.isCancelable() && forgeEvent.isCanceled();
+    }
+
     @Override
     public boolean post(Event event) {
         checkNotNull(event, "event");
 
-        for (Handler handler : getHandlerCache(event.getClass()).getHandlers()) {
+        for (RegisteredHandler handler : getHandlerCache(event.getClass()).getHandlers()) {
             callListener(handler, event);
         }
 
@@ -287,11 +402,79 @@ public class SpongeEventBus implements EventManager {
         checkNotNull(event, "event");
         checkNotNull(event, "order");
 
-        for (Handler handler : getHandlerCache(event.getClass()).getHandlersByOrder(order)) {
+        for (RegisteredHandler handler : getHandlerCache(event.getClass()).getHandlersByOrder(order)) {
             callListener(handler, event);
         }
 
         return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 
+    /**
+     * Posts an event, running {@link AsyncSafe} handlers off the calling
+     * thread.
+     *
+     * <p>
+     * All other handlers are called on the calling thread, in order, before
+     * this method returns. The async-safe handlers are then called in order
+     * on the event bus worker pool. Async-safe handlers therefore always
+     * observe the result of the synchronous ones, whatever their
+     * {@link Order}.
+     * </p>
+     *
+     * <p>
+     * The returned future completes on the main thread through the
+     * {@link SyncScheduler} once the last async-safe handler has returned, so
+     * completions are seen in the order the handlers finished. Async-safe
+     * handlers cannot cancel the event; the result only reflects the
+     * synchronous handlers. If the worker pool is saturated the future fails
+     * with a {@link RejectedExecutionException} and no async-safe handler is
+     * called.
+     * </p>
+     *
+     * <p>
+     * This method must be called from the main server thread, as the
+     * synchronous handlers run on the calling thread. Plugins posting from
+     * another thread should hand the post to the {@link SyncScheduler}
+     * first.
+     * </p>
+     *
+     * @param event The event
+     * @return A future telling whether the event was cancelled by the
+     *     synchronous handlers
+     * @throws IllegalStateException If not called from the main server thread
+     */
+    public ListenableFuture<Boolean> postAsync(final Event event) {
+        checkNotNull(event, "event");
+        MinecraftServer server = MinecraftServer.getServer();
+        checkState(server != null && server.isCallingFromMinecraftThread(), "postAsync must be called from the main server thread");
+
+        final HandlerCache handlerCache = getHandlerCache(event.getClass());
+        for (RegisteredHandler handler : handlerCache.getSyncHandlers()) {
+            callListener(handler, event);
+        }
+
+        final boolean cancelled = event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        if (handlerCache.getAsyncHandlers().length == 0) {
+            return Futures.immediateFuture(cancelled);
+        }
+
+        ListenableFuture<Boolean> handled;
+        try {
+            handled = this.asyncExecutor.submit(new Callable<Boolean>() {
+
+                @Override
+                public Boolean call() throws Exception {
+                    for (RegisteredHandler handler : handlerCache.getAsyncHandlers()) {
+                        callListener(handler, event);
+                    }
+                    return cancelled;
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            SpongeMod.instance.getLogger().warn("Async event queue is full, dropping async handlers of " + event.getClass().getName());
+            return Futures.immediateFailedFuture(e);
+        }
+        return Futures.transform(handled, Functions.<Boolean>identity(), new SyncExecutor(SpongeMod.instance));
+    }
+
 }
@@ -33,18 +33,31 @@ class Subscriber {
     private final Class<?> eventClass;
     private final Handler handler;
     private final Order order;
+    private final String name;
+    private final boolean asyncSafe;
 
     Subscriber(Class<?> eventClass, Handler handler) {
         this(eventClass, handler, Order.DEFAULT);
     }
 
     Subscriber(Class<?> eventClass, Handler handler, Order order) {
+        this(eventClass, handler, order, handler.getClass().getName());
+    }
+
+    Subscriber(Class<?> eventClass, Handler handler, Order order, String name) {
+        this(eventClass, handler, order, name, false);
+    }
+
+    Subscriber(Class<?> eventClass, Handler handler, Order order, String name, boolean asyncSafe) {
         checkNotNull(eventClass, "eventClass");
         checkNotNull(handler, "handler");
         checkNotNull(order, "order");
+        checkNotNull(name, "name");
         this.eventClass = eventClass;
         this.handler = handler;
         this.order = order;
+        this.name = name;
+        this.asyncSafe = asyncSafe;
     }
 
     public Class<?> getEventClass() {
@@ -59,4 +72,17 @@ class Subscriber {
         return this.order;
     }
 
+    /**
+     * Gets a human readable name of the handler, used for reporting.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    public boolean isAsyncSafe() {
+        return this.asyncSafe;
+    }
+
 }
@@ -45,4 +45,10 @@ public interface IMixinEntity {
     void setActivatedTick(long tick);
 
     void inactiveTick();
+
+    byte getEntityCapType();
+
+    IMixinChunk getCountedChunk();
+
+    void setCountedChunk(IMixinChunk chunk);
 }
@@ -24,16 +24,22 @@
  */
 package org.spongepowered.mod.interfaces;
 
+import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.ImmutableList;
 import org.spongepowered.api.world.gen.GeneratorPopulator;
 import org.spongepowered.api.world.gen.Populator;
 import net.minecraft.world.storage.WorldInfo;
+import org.spongepowered.mod.configuration.EffectiveConfig;
 import org.spongepowered.mod.configuration.SpongeConfig;
+import org.spongepowered.mod.world.storage.AsyncChunkLoader;
+import org.spongepowered.mod.world.storage.ChunkLoadCallback;
 
 public interface IMixinWorld {
 
     SpongeConfig<SpongeConfig.WorldConfig> getWorldConfig();
 
+    EffectiveConfig getEffectiveConfig();
+
     ImmutableList<Populator> getPopulators();
 
     ImmutableList<GeneratorPopulator> getGeneratorPopulators();
@@ -42,4 +48,7 @@ public interface IMixinWorld {
 
     void updateWorldGenerator();
 
+    AsyncChunkLoader.Request loadChunkAsync(Vector3i position, boolean shouldGenerate, AsyncChunkLoader.Priority priority,
+            ChunkLoadCallback callback);
+
 }
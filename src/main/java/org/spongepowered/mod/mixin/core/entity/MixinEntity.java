@@ -70,7 +70,9 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.mod.SpongeMod;
 import org.spongepowered.mod.data.manipulators.SpongeNameData;
+import org.spongepowered.mod.interfaces.IMixinChunk;
 import org.spongepowered.mod.interfaces.IMixinEntity;
+import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationRange;
 import org.spongepowered.mod.registry.SpongeGameRegistry;
 import org.spongepowered.mod.util.SpongeHooks;
 import org.spongepowered.mod.util.VecHelper;
@@ -91,6 +93,8 @@ public abstract class MixinEntity implements Entity, IMixinEntity {
     // @formatter:off
     private EntityType entityType = ((SpongeGameRegistry) SpongeMod.instance.getGame().getRegistry()).entityClassToTypeMappings.get(this.getClass());
     private boolean teleporting;
+    private byte entityCapType = -1;
+    private IMixinChunk countedChunk;
     private net.minecraft.entity.Entity teleportVehicle;
     private float origWidth;
     private float origHeight;
@@ -147,6 +151,14 @@ public abstract class MixinEntity implements Entity, IMixinEntity {
         }
     }
 
+    @Inject(method = "setDead()V", at = @At("HEAD"))
+    public void onSetDead(CallbackInfo ci) {
+        // Dead entities stay in their chunk until the world unloads them, free their place in the chunk entity caps right away
+        if (this.countedChunk != null) {
+            this.countedChunk.uncountEntity((net.minecraft.entity.Entity) (Object) this);
+        }
+    }
+
     @Inject(method = "moveEntity(DDD)V", at = @At("HEAD"), cancellable = true)
     public void onMoveEntity(double x, double y, double z, CallbackInfo ci) {
         if (!this.worldObj.isRemote && !SpongeHooks.checkEntitySpeed(((net.minecraft.entity.Entity) (Object) this), x, y, z)) {
@@ -549,6 +561,24 @@ public abstract class MixinEntity implements Entity, IMixinEntity {
         return true;
     }
 
+    @Override
+    public byte getEntityCapType() {
+        if (this.entityCapType == -1) {
+            this.entityCapType = ActivationRange.initializeEntityActivationType((net.minecraft.entity.Entity) (Object) this);
+        }
+        return this.entityCapType;
+    }
+
+    @Override
+    public IMixinChunk getCountedChunk() {
+        return this.countedChunk;
+    }
+
+    @Override
+    public void setCountedChunk(IMixinChunk chunk) {
+        this.countedChunk = chunk;
+    }
+
     @Override
     public boolean isTeleporting() {
         return this.teleporting;
@@ -37,6 +37,8 @@ import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.mod.entity.EntityMerger;
+import org.spongepowered.mod.util.SpongeHooks;
 
 import javax.annotation.Nullable;
 
@@ -54,6 +56,11 @@ public abstract class MixinEntityItem extends MixinEntity implements Item {
     public int lifespan;
     @Shadow public abstract net.minecraft.item.ItemStack getEntityItem();
 
+    @Shadow
+    private boolean combineItems(EntityItem other) {
+        return false; // Shadowed
+    }
+
     //
     // In the case where a Forge mod sets the delay to MAGIC_INFINITE_PICKUP_DELAY, but a plugin has
     // never called setPickupDelay or setInfinitePickupDelay, delayBeforeCanPickup would be decremented,
@@ -83,6 +90,28 @@ public abstract class MixinEntityItem extends MixinEntity implements Item {
         }
     }
 
+    @Inject(method = "searchForOtherItemsNearby()V", at = @At("HEAD"), cancellable = true)
+    private void onSearchForOtherItemsNearby(CallbackInfo ci) {
+        double radius = SpongeHooks.getEffectiveConfig(this.worldObj).itemMergeRadius;
+        if (radius <= 0) {
+            return; // vanilla merging
+        }
+        int merged = 0;
+        for (EntityItem other : EntityMerger.getNearby((EntityItem) (Object) this, EntityItem.class, radius)) {
+            // combineItems honours stack limits, NBT equality and pickup delays
+            if (combineItems(other)) {
+                merged++;
+            }
+            if (this.isDead) {
+                break;
+            }
+        }
+        if (merged > 0) {
+            EntityMerger.recordItemsMerged(this.worldObj, merged);
+        }
+        ci.cancel();
+    }
+
     public int getPickupDelay() {
         if (this.delayBeforeCanPickup == MAGIC_INFINITE_PICKUP_DELAY) {
             // There are two cases when -1 should be returned:
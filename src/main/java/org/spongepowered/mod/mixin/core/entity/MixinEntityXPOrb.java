@@ -29,13 +29,45 @@ import org.spongepowered.api.entity.ExperienceOrb;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.mod.entity.EntityMerger;
+import org.spongepowered.mod.util.SpongeHooks;
 
 @NonnullByDefault
 @Mixin(EntityXPOrb.class)
 public abstract class MixinEntityXPOrb extends MixinEntity implements ExperienceOrb {
 
+    private static final int MERGE_INTERVAL = 20;
+
     @Shadow public int xpValue;
 
+    @Inject(method = "onUpdate()V", at = @At("RETURN"))
+    private void onOnUpdate(CallbackInfo ci) {
+        EntityXPOrb orb = (EntityXPOrb) (Object) this;
+        if (this.worldObj.isRemote || this.isDead || (orb.ticksExisted + orb.getEntityId()) % MERGE_INTERVAL != 0) {
+            return;
+        }
+        double radius = SpongeHooks.getEffectiveConfig(this.worldObj).xpMergeRadius;
+        if (radius <= 0) {
+            return;
+        }
+        int merged = 0;
+        for (EntityXPOrb other : EntityMerger.getNearby(orb, EntityXPOrb.class, radius)) {
+            // The value is saved as a short
+            if (this.xpValue + other.xpValue > Short.MAX_VALUE) {
+                continue;
+            }
+            this.xpValue += other.xpValue;
+            other.setDead();
+            merged++;
+        }
+        if (merged > 0) {
+            EntityMerger.recordOrbsMerged(this.worldObj, merged);
+        }
+    }
+
     public int getExperience() {
         return this.xpValue;
     }
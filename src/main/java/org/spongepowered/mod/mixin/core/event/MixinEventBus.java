@@ -53,20 +53,24 @@ public abstract class MixinEventBus {
         IEventListener[] listeners = event.getListenerList().getListeners(this.busID);
 
         if (event instanceof org.spongepowered.api.event.Event) {
-            return ((SpongeEventBus) SpongeMod.instance.getGame().getEventManager()).post(event, listeners);
-        } else {
-            listeners = event.getListenerList().getListeners(this.busID);
-            int index = 0;
-            try {
-                for (; index < listeners.length; index++) {
-                    listeners[index].invoke(event);
-                }
-            } catch (Throwable throwable) {
-                this.exceptionHandler.handleException(this.eventBus, event, listeners, index, throwable);
-                Throwables.propagate(throwable);
+            SpongeEventBus spongeBus = (SpongeEventBus) SpongeMod.instance.getGame().getEventManager();
+            // Only interleave Sponge handlers if there are any
+            if (spongeBus.hasHandlers(event.getClass())) {
+                return spongeBus.post(event, listeners);
             }
-            return (event.isCancelable() ? event.isCanceled() : false);
+            return spongeBus.postForgeOnly(event, listeners);
         }
+
+        int index = 0;
+        try {
+            for (; index < listeners.length; index++) {
+                listeners[index].invoke(event);
+            }
+        } catch (Throwable throwable) {
+            this.exceptionHandler.handleException(this.eventBus, event, listeners, index, throwable);
+            Throwables.propagate(throwable);
+        }
+        return (event.isCancelable() ? event.isCanceled() : false);
     }
 
 }
@@ -26,6 +26,7 @@ package org.spongepowered.mod.mixin.core.server;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
 import net.minecraft.profiler.Profiler;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.ServerConfigurationManager;
@@ -63,11 +64,18 @@ import org.spongepowered.api.world.storage.WorldProperties;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.configuration.SpongeConfig;
 import org.spongepowered.mod.interfaces.IMixinWorldInfo;
 import org.spongepowered.mod.interfaces.Subjectable;
+import org.spongepowered.mod.mixin.plugin.CoreMixinPlugin;
 import org.spongepowered.mod.text.SpongeText;
 import org.spongepowered.mod.world.SpongeDimensionType;
+import org.spongepowered.mod.world.storage.SpawnAreaLoader;
+import org.spongepowered.mod.world.storage.WorldInfoLoader;
 
 import java.io.File;
 import java.net.InetSocketAddress;
@@ -76,6 +84,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @NonnullByDefault
@@ -110,14 +119,19 @@ public abstract class MixinMinecraftServer implements Server, ConsoleSource, Sub
     @Shadow protected abstract void outputPercentRemaining(String message, int percent);
     @Shadow protected abstract void clearCurrentTask();
 
+    private final Map<Integer, String> lazyWorldFolders = Maps.newHashMap();
+
     @Overwrite
     protected void loadAllWorlds(String overworldFolder, String unused, long seed, WorldType type, String generator) {
         this.convertMapIfNeeded(overworldFolder);
         this.setUserMessage("menu.loadingLevel");
+        SpongeConfig.WorldLoadingCategory loadingConfig = CoreMixinPlugin.getGlobalConfig().getConfig().getWorldLoading();
 
         List<Integer> idList = new LinkedList<Integer>(Arrays.asList(DimensionManager.getStaticDimensionIDs()));
         idList.remove(Integer.valueOf(0));
         idList.add(0, 0); // load overworld first
+        Map<Integer, String> worldFolders = Maps.newLinkedHashMap();
+        Map<Integer, AnvilSaveHandler> saveHandlers = Maps.newLinkedHashMap();
         for (int dim : idList) {
             WorldProvider provider = WorldProvider.getProviderForDimension(dim);
             String worldFolder = "";
@@ -135,8 +149,6 @@ public abstract class MixinMinecraftServer implements Server, ConsoleSource, Sub
                 }
             }
 
-            WorldInfo worldInfo = null;
-            WorldSettings newWorldSettings = null;
             AnvilSaveHandler worldsavehandler = null;
 
             if (FMLCommonHandler.instance().getSide() == Side.CLIENT) {
@@ -147,7 +159,28 @@ public abstract class MixinMinecraftServer implements Server, ConsoleSource, Sub
             } else {
                 worldsavehandler = new AnvilSaveHandler(new File(dim == 0 ? "." : getFolderName()), worldFolder, true);
             }
-            worldInfo = worldsavehandler.loadWorldInfo();
+            worldFolders.put(dim, worldFolder);
+            saveHandlers.put(dim, worldsavehandler);
+        }
+
+        // The overworld carries the FML data, so it is read on this thread
+        // before the other worlds are read in parallel
+        Map<Integer, AnvilSaveHandler> otherSaveHandlers = Maps.newLinkedHashMap(saveHandlers);
+        AnvilSaveHandler overworldSaveHandler = otherSaveHandlers.remove(0);
+        Map<Integer, WorldInfo> worldInfos = Maps.newHashMap();
+        if (overworldSaveHandler != null) {
+            worldInfos.put(0, overworldSaveHandler.loadWorldInfo());
+        }
+        worldInfos.putAll(WorldInfoLoader.loadAll(otherSaveHandlers, loadingConfig.getInfoLoadThreads()));
+
+        for (Map.Entry<Integer, String> entry : worldFolders.entrySet()) {
+            int dim = entry.getKey();
+            String worldFolder = entry.getValue();
+            WorldProvider provider = WorldProvider.getProviderForDimension(dim);
+            AnvilSaveHandler worldsavehandler = saveHandlers.get(dim);
+            WorldInfo worldInfo = worldInfos.get(dim);
+            WorldSettings newWorldSettings = null;
+
             if (worldInfo == null) {
                 newWorldSettings = new WorldSettings(seed, this.getGameType(), this.canStructuresSpawn(), this.isHardcore(), type);
                 newWorldSettings.setWorldName(generator);
@@ -179,6 +212,14 @@ public abstract class MixinMinecraftServer implements Server, ConsoleSource, Sub
             UUID uuid = ((WorldProperties) worldInfo).getUniqueId();
             SpongeMod.instance.getSpongeRegistry().registerWorldUniqueId(uuid, worldFolder);
 
+            if (loadingConfig.lazyLoadWorlds() && dim != 0 && dim != -1 && dim != 1 && worldInfos.get(dim) != null
+                    && !((WorldProperties) worldInfo).loadOnStartup()) {
+                // Loaded by onWorldServerForDimension when first accessed
+                SpongeMod.instance.getSpongeRegistry().registerWorldProperties((WorldProperties) worldInfo);
+                this.lazyWorldFolders.put(dim, worldFolder);
+                continue;
+            }
+
             WorldServer world = (WorldServer) new WorldServer((MinecraftServer) (Object) this, worldsavehandler, worldInfo, dim,
                     this.theProfiler).init();
 
@@ -199,37 +240,57 @@ public abstract class MixinMinecraftServer implements Server, ConsoleSource, Sub
 
     @Overwrite
     protected void initialWorldChunkLoad() {
+        // Spawn areas of all worlds share one queue so their region reads overlap
+        SpawnAreaLoader spawnAreaLoader = new SpawnAreaLoader();
         for (WorldServer worldserver : DimensionManager.getWorlds()) {
             WorldProperties worldProperties = ((World) worldserver).getProperties();
             if (worldProperties.doesKeepSpawnLoaded()) {
-                prepareSpawnArea(worldserver);
+                logger.info("Preparing start region for level " + worldserver.provider.getDimensionId());
+                spawnAreaLoader.queue(worldserver);
             }
         }
 
-        this.clearCurrentTask();
+        this.setUserMessage("menu.generatingTerrain");
+        this.waitForSpawnArea(spawnAreaLoader);
+    }
+
+    @Inject(method = "worldServerForDimension", at = @At("HEAD"), cancellable = true)
+    public void onWorldServerForDimension(int dim, CallbackInfoReturnable<WorldServer> cir) {
+        if (this.lazyWorldFolders.isEmpty() || DimensionManager.getWorld(dim) != null) {
+            return;
+        }
+        String worldFolder = this.lazyWorldFolders.remove(dim);
+        if (worldFolder != null) {
+            Optional<World> world = loadWorld(worldFolder);
+            if (world.isPresent()) {
+                cir.setReturnValue((WorldServer) world.get());
+            }
+        }
     }
 
     protected void prepareSpawnArea(WorldServer world) {
-        int i = 0;
         this.setUserMessage("menu.generatingTerrain");
         logger.info("Preparing start region for level " + world.provider.getDimensionId());
-        BlockPos blockpos = world.getSpawnPoint();
-        long j = MinecraftServer.getCurrentTimeMillis();
+        SpawnAreaLoader spawnAreaLoader = new SpawnAreaLoader();
+        spawnAreaLoader.queue(world);
+        this.waitForSpawnArea(spawnAreaLoader);
+    }
 
-        for (int k = -192; k <= 192 && this.isServerRunning(); k += 16) {
-            for (int l = -192; l <= 192 && this.isServerRunning(); l += 16) {
-                long i1 = MinecraftServer.getCurrentTimeMillis();
+    private void waitForSpawnArea(SpawnAreaLoader spawnAreaLoader) {
+        long j = MinecraftServer.getCurrentTimeMillis();
 
-                if (i1 - j > 1000L) {
-                    this.outputPercentRemaining("Preparing spawn area", i * 100 / 625);
-                    j = i1;
-                }
+        while (!spawnAreaLoader.isDone() && this.isServerRunning()) {
+            spawnAreaLoader.tick();
+            long i1 = MinecraftServer.getCurrentTimeMillis();
 
-                ++i;
-                world.theChunkProviderServer.loadChunk(blockpos.getX() + k >> 4, blockpos.getZ() + l >> 4);
+            if (i1 - j > 1000L) {
+                this.outputPercentRemaining("Preparing spawn area", spawnAreaLoader.getPercentDone());
+                j = i1;
             }
         }
 
+        // Only does anything if the server stopped early
+        spawnAreaLoader.cancel();
         this.clearCurrentTask();
     }
 
@@ -277,6 +338,7 @@ public abstract class MixinMinecraftServer implements Server, ConsoleSource, Sub
                 worldInfo = (WorldInfo) SpongeMod.instance.getSpongeRegistry().getWorldProperties(((WorldProperties) worldInfo).getUniqueId()).get();
             }
             dim = ((IMixinWorldInfo) worldInfo).getDimensionId();
+            this.lazyWorldFolders.remove(dim);
             if (!DimensionManager.isDimensionRegistered(dim)) { // handle reloads properly
                 DimensionManager
                         .registerDimension(dim, ((SpongeDimensionType) ((WorldProperties) worldInfo).getDimensionType()).getDimensionTypeId());
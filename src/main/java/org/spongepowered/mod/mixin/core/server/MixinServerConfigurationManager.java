@@ -78,8 +78,12 @@ import org.spongepowered.api.world.World;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.mod.interfaces.IMixinEntityPlayerMP;
 import org.spongepowered.mod.interfaces.IMixinServerConfigurationManager;
+import org.spongepowered.mod.service.permission.base.GlobalMemorySubjectData;
 import org.spongepowered.mod.world.SpongeDimensionType;
 import org.spongepowered.mod.world.border.PlayerBorderListener;
 
@@ -124,6 +128,12 @@ public abstract class MixinServerConfigurationManager implements IMixinServerCon
     @Shadow
     public abstract void playerLoggedIn(EntityPlayerMP playerIn);
 
+    @Inject(method = "setCommandsAllowedForAll", at = @At("RETURN"))
+    public void onSetCommandsAllowedForAll(boolean allowed, CallbackInfo ci) {
+        // Players without an ops entry get their op level from this flag
+        GlobalMemorySubjectData.invalidate();
+    }
+
     @SuppressWarnings("rawtypes")
     @Overwrite(aliases = "initializeConnectionToPlayer")
     public void initializeConnectionToPlayer(NetworkManager netManager, EntityPlayerMP playerIn, NetHandlerPlayServer nethandlerplayserver) {
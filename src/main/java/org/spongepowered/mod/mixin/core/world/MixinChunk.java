@@ -26,6 +26,9 @@ package org.spongepowered.mod.mixin.core.world;
 
 import com.flowpowered.math.vector.Vector2i;
 import com.flowpowered.math.vector.Vector3i;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.ClassInheritanceMultiMap;
 import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
@@ -35,6 +38,7 @@ import net.minecraftforge.common.DimensionManager;
 import net.minecraftforge.common.ForgeChunkManager;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
+import org.spongepowered.api.entity.EntityType;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 import org.spongepowered.api.util.gen.BiomeBuffer;
 import org.spongepowered.api.world.Chunk;
@@ -43,20 +47,29 @@ import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.mod.interfaces.IMixinChunk;
+import org.spongepowered.mod.interfaces.IMixinEntity;
 import org.spongepowered.mod.interfaces.IMixinWorld;
 import org.spongepowered.mod.util.SpongeHooks;
 import org.spongepowered.mod.util.gen.FastChunkBuffer;
 import org.spongepowered.mod.util.gen.ObjectArrayMutableBiomeArea;
+import org.spongepowered.mod.world.storage.AsyncChunkLoader;
+import org.spongepowered.mod.world.storage.ChunkLoadCallback;
 
 import java.util.List;
 
 @NonnullByDefault
 @Mixin(net.minecraft.world.chunk.Chunk.class)
-public abstract class MixinChunk implements Chunk {
+public abstract class MixinChunk implements Chunk, IMixinChunk {
 
     private Vector3i chunkPos;
     private ChunkCoordIntPair chunkCoordIntPair;
+    // entity counts for chunk caps, indexed by activation type
+    private final int[] entityCounts = new int[6];
+    private final TObjectIntHashMap<EntityType> entityTypeCounts = new TObjectIntHashMap<EntityType>();
+    private long lastAccessTime;
 
     @Shadow
     private net.minecraft.world.World worldObj;
@@ -112,6 +125,58 @@ public abstract class MixinChunk implements Chunk {
         SpongeHooks.logChunkUnload(this.worldObj, this.chunkPos);
     }
 
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Redirect(method = "addEntity(Lnet/minecraft/entity/Entity;)V", at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/util/ClassInheritanceMultiMap;add(Ljava/lang/Object;)Z"))
+    private boolean onAddEntityToList(ClassInheritanceMultiMap entityList, Object entity) {
+        boolean added = entityList.add(entity);
+        net.minecraft.entity.Entity mcEntity = (net.minecraft.entity.Entity) entity;
+        // Players are never capped and must not use up the misc cap
+        if (added && !mcEntity.isDead && !(mcEntity instanceof EntityPlayer) && ((IMixinEntity) mcEntity).getCountedChunk() == null) {
+            countEntity(mcEntity, 1);
+            ((IMixinEntity) mcEntity).setCountedChunk(this);
+        }
+        return added;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Redirect(method = "removeEntityAtIndex(Lnet/minecraft/entity/Entity;I)V", at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/util/ClassInheritanceMultiMap;remove(Ljava/lang/Object;)Z"))
+    private boolean onRemoveEntityFromList(ClassInheritanceMultiMap entityList, Object entity) {
+        boolean removed = entityList.remove(entity);
+        if (removed) {
+            uncountEntity((net.minecraft.entity.Entity) entity);
+        }
+        return removed;
+    }
+
+    @Override
+    public void uncountEntity(net.minecraft.entity.Entity entity) {
+        // Each entity is counted by at most one chunk, and only once
+        if (((IMixinEntity) entity).getCountedChunk() == this) {
+            countEntity(entity, -1);
+            ((IMixinEntity) entity).setCountedChunk(null);
+        }
+    }
+
+    private void countEntity(net.minecraft.entity.Entity entity, int delta) {
+        this.entityCounts[((IMixinEntity) entity).getEntityCapType()] += delta;
+        EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
+        if (type != null) {
+            this.entityTypeCounts.adjustOrPutValue(type, delta, delta);
+        }
+    }
+
+    @Override
+    public int getEntityCount(byte activationType) {
+        return this.entityCounts[activationType];
+    }
+
+    @Override
+    public int getEntityCount(EntityType type) {
+        return this.entityTypeCounts.get(type);
+    }
+
     @Override
     public Vector3i getPosition() {
         return this.chunkPos;
@@ -134,10 +199,29 @@ public abstract class MixinChunk implements Chunk {
         if (worldserver.theChunkProviderServer.chunkExists(this.xPosition, this.zPosition) || generate) {
             chunk = worldserver.theChunkProviderServer.loadChunk(this.xPosition, this.zPosition);
         }
+        if (chunk != null) {
+            ((IMixinChunk) chunk).setLastAccessTime(worldserver.getTotalWorldTime());
+        }
 
         return chunk != null;
     }
 
+    @Override
+    public long getLastAccessTime() {
+        return this.lastAccessTime;
+    }
+
+    @Override
+    public void setLastAccessTime(long worldTime) {
+        this.lastAccessTime = worldTime;
+    }
+
+    @Override
+    public AsyncChunkLoader.Request loadChunkAsync(boolean generate, ChunkLoadCallback callback) {
+        return AsyncChunkLoader.load((WorldServer) this.worldObj, this.xPosition, this.zPosition, generate, AsyncChunkLoader.Priority.NORMAL,
+                callback);
+    }
+
     @Override
     public boolean unloadChunk() {
         if (ForgeChunkManager.getPersistentChunksFor(this.worldObj).containsKey(this.chunkCoordIntPair)) {
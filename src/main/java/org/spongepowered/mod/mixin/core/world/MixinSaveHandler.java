@@ -37,11 +37,11 @@ import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.mod.SpongeMod;
 import org.spongepowered.mod.interfaces.IMixinWorldInfo;
+import org.spongepowered.mod.world.storage.WorldInfoWriter;
 
 import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 
 @NonnullByDefault
@@ -76,6 +76,8 @@ public abstract class MixinSaveHandler {
 
     @Overwrite
     public WorldInfo loadWorldInfo() {
+        // Make sure a save of this world still being written is not read half way
+        WorldInfoWriter.flush();
         File file1 = new File(this.worldDirectory, "level.dat");
         File file2 = new File(this.worldDirectory, "level.dat_old");
         File spongeFile = new File(this.worldDirectory, "level_sponge.dat");
@@ -129,63 +131,7 @@ public abstract class MixinSaveHandler {
         NBTTagCompound nbttagcompound2 = new NBTTagCompound();
         nbttagcompound2.setTag("Data", nbttagcompound1);
 
-        // Forge and FML data are only saved to main world
-        if (this.worldDirectory.getParentFile() == null
-                || (FMLCommonHandler.instance().getSide() == Side.CLIENT && this.worldDirectory.getParentFile().equals(
-                        FMLCommonHandler.instance().getSavesDirectory()))) {
-            net.minecraftforge.fml.common.FMLCommonHandler.instance().handleWorldDataSave((SaveHandler) (Object) this, worldInformation,
-                    nbttagcompound2);
-        }
-
-        try {
-            File file1 = new File(this.worldDirectory, "level.dat_new");
-            File file2 = new File(this.worldDirectory, "level.dat_old");
-            File file3 = new File(this.worldDirectory, "level.dat");
-            CompressedStreamTools.writeCompressed(nbttagcompound2, new FileOutputStream(file1));
-
-            if (file2.exists()) {
-                file2.delete();
-            }
-
-            file3.renameTo(file2);
-
-            if (file3.exists()) {
-                file3.delete();
-            }
-
-            file1.renameTo(file3);
-
-            if (file1.exists()) {
-                file1.delete();
-            }
-        } catch (Exception exception) {
-            exception.printStackTrace();
-        }
-
-        try {
-            File spongeFile1 = new File(this.worldDirectory, "level_sponge.dat_new");
-            File spongeFile2 = new File(this.worldDirectory, "level_sponge.dat_old");
-            File spongeFile3 = new File(this.worldDirectory, "level_sponge.dat");
-            CompressedStreamTools.writeCompressed(((IMixinWorldInfo) worldInformation).getSpongeRootLevelNbt(), new FileOutputStream(spongeFile1));
-
-            if (spongeFile2.exists()) {
-                spongeFile2.delete();
-            }
-
-            spongeFile3.renameTo(spongeFile2);
-
-            if (spongeFile3.exists()) {
-                spongeFile3.delete();
-            }
-
-            spongeFile1.renameTo(spongeFile3);
-
-            if (spongeFile1.exists()) {
-                spongeFile1.delete();
-            }
-        } catch (Exception exception) {
-            exception.printStackTrace();
-        }
+        saveLevelFiles(worldInformation, nbttagcompound2);
     }
 
     @Overwrite
@@ -194,62 +140,21 @@ public abstract class MixinSaveHandler {
         NBTTagCompound nbttagcompound1 = new NBTTagCompound();
         nbttagcompound1.setTag("Data", nbttagcompound);
 
+        saveLevelFiles(worldInformation, nbttagcompound1);
+    }
+
+    private void saveLevelFiles(WorldInfo worldInformation, NBTTagCompound levelCompound) {
         // Forge and FML data are only saved to main world
         if (this.worldDirectory.getParentFile() == null
                 || (FMLCommonHandler.instance().getSide() == Side.CLIENT && this.worldDirectory.getParentFile().equals(
                         FMLCommonHandler.instance().getSavesDirectory()))) {
             net.minecraftforge.fml.common.FMLCommonHandler.instance().handleWorldDataSave((SaveHandler) (Object) this, worldInformation,
-                    nbttagcompound1);
+                    levelCompound);
         }
 
-        try {
-            File file1 = new File(this.worldDirectory, "level.dat_new");
-            File file2 = new File(this.worldDirectory, "level.dat_old");
-            File file3 = new File(this.worldDirectory, "level.dat");
-            CompressedStreamTools.writeCompressed(nbttagcompound1, new FileOutputStream(file1));
-
-            if (file2.exists()) {
-                file2.delete();
-            }
-
-            file3.renameTo(file2);
-
-            if (file3.exists()) {
-                file3.delete();
-            }
-
-            file1.renameTo(file3);
-
-            if (file1.exists()) {
-                file1.delete();
-            }
-        } catch (Exception exception) {
-            exception.printStackTrace();
-        }
-
-        try {
-            File spongeFile1 = new File(this.worldDirectory, "level_sponge.dat_new");
-            File spongeFile2 = new File(this.worldDirectory, "level_sponge.dat_old");
-            File spongeFile3 = new File(this.worldDirectory, "level_sponge.dat");
-            CompressedStreamTools.writeCompressed(((IMixinWorldInfo) worldInformation).getSpongeRootLevelNbt(), new FileOutputStream(spongeFile1));
-
-            if (spongeFile2.exists()) {
-                spongeFile2.delete();
-            }
-
-            spongeFile3.renameTo(spongeFile2);
-
-            if (spongeFile3.exists()) {
-                spongeFile3.delete();
-            }
-
-            spongeFile1.renameTo(spongeFile3);
-
-            if (spongeFile1.exists()) {
-                spongeFile1.delete();
-            }
-        } catch (Exception exception) {
-            exception.printStackTrace();
-        }
+        // The level compound is built fresh for each save, but the sponge compound is live so it is copied
+        WorldInfoWriter.save(new File(this.worldDirectory, "level.dat"), levelCompound);
+        WorldInfoWriter.save(new File(this.worldDirectory, "level_sponge.dat"),
+                (NBTTagCompound) ((IMixinWorldInfo) worldInformation).getSpongeRootLevelNbt().copy());
     }
 }
@@ -83,9 +83,11 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.configuration.EffectiveConfig;
 import org.spongepowered.mod.configuration.SpongeConfig;
 import org.spongepowered.mod.effect.particle.SpongeParticleEffect;
 import org.spongepowered.mod.effect.particle.SpongeParticleHelper;
+import org.spongepowered.mod.interfaces.IMixinChunk;
 import org.spongepowered.mod.interfaces.IMixinWorld;
 import org.spongepowered.mod.interfaces.IMixinWorldType;
 import org.spongepowered.mod.util.SpongeHooks;
@@ -95,6 +97,8 @@ import org.spongepowered.mod.world.gen.CustomWorldChunkManager;
 import org.spongepowered.mod.world.gen.SpongeBiomeGenerator;
 import org.spongepowered.mod.world.gen.SpongeGeneratorPopulator;
 import org.spongepowered.mod.world.gen.SpongeWorldGenerator;
+import org.spongepowered.mod.world.storage.AsyncChunkLoader;
+import org.spongepowered.mod.world.storage.ChunkLoadCallback;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -109,6 +113,7 @@ public abstract class MixinWorld implements World, IMixinWorld {
 
     private boolean keepSpawnLoaded;
     public SpongeConfig<SpongeConfig.WorldConfig> worldConfig;
+    private EffectiveConfig effectiveConfig;
     private volatile Context worldContext;
     private ImmutableList<Populator> populators;
     private ImmutableList<GeneratorPopulator> generatorPopulators;
@@ -179,6 +184,14 @@ public abstract class MixinWorld implements World, IMixinWorld {
         }
     }
 
+    @Inject(method = "spawnEntityInWorld(Lnet/minecraft/entity/Entity;)Z", at = @At("HEAD"), cancellable = true)
+    public void onSpawnEntityInWorld(net.minecraft.entity.Entity entity, CallbackInfoReturnable<Boolean> cir) {
+        net.minecraft.world.World world = (net.minecraft.world.World) (Object) this;
+        if (!world.isRemote && !SpongeHooks.checkChunkEntityCap(world, entity)) {
+            cir.setReturnValue(false);
+        }
+    }
+
     @SuppressWarnings("rawtypes")
     @Inject(method = "getCollidingBoundingBoxes(Lnet/minecraft/entity/Entity;Lnet/minecraft/util/AxisAlignedBB;)Ljava/util/List;", at = @At("HEAD"))
     public void onGetCollidingBoundingBoxes(net.minecraft.entity.Entity entity, net.minecraft.util.AxisAlignedBB axis,
@@ -204,6 +217,7 @@ public abstract class MixinWorld implements World, IMixinWorld {
         net.minecraft.world.chunk.Chunk chunk = null;
         if (worldserver.theChunkProviderServer.chunkExists(position.getX(), position.getZ())) {
             chunk = worldserver.theChunkProviderServer.provideChunk(position.getX(), position.getZ());
+            ((IMixinChunk) chunk).setLastAccessTime(worldserver.getTotalWorldTime());
         }
         return Optional.fromNullable((Chunk) chunk);
     }
@@ -214,10 +228,17 @@ public abstract class MixinWorld implements World, IMixinWorld {
         net.minecraft.world.chunk.Chunk chunk = null;
         if (worldserver.theChunkProviderServer.chunkExists(position.getX(), position.getZ()) || shouldGenerate) {
             chunk = worldserver.theChunkProviderServer.loadChunk(position.getX(), position.getZ());
+            ((IMixinChunk) chunk).setLastAccessTime(worldserver.getTotalWorldTime());
         }
         return Optional.fromNullable((Chunk) chunk);
     }
 
+    @Override
+    public AsyncChunkLoader.Request loadChunkAsync(Vector3i position, boolean shouldGenerate, AsyncChunkLoader.Priority priority,
+            ChunkLoadCallback callback) {
+        return AsyncChunkLoader.load((WorldServer) (Object) this, position.getX(), position.getZ(), shouldGenerate, priority, callback);
+    }
+
     @Override
     public BlockState getBlock(Vector3i position) {
         return getBlock(position.getX(), position.getY(), position.getZ());
@@ -463,6 +484,17 @@ public abstract class MixinWorld implements World, IMixinWorld {
         return this.worldConfig;
     }
 
+    @Override
+    public EffectiveConfig getEffectiveConfig() {
+        EffectiveConfig config = this.effectiveConfig;
+        if (config == null || config.isStale()) {
+            int revision = SpongeConfig.getGlobalRevision();
+            config = new EffectiveConfig(SpongeHooks.resolveActiveConfig((net.minecraft.world.World) (Object) this), revision);
+            this.effectiveConfig = config;
+        }
+        return config;
+    }
+
     @Override
     public void playSound(SoundType sound, Vector3d position, double volume) {
         this.playSound(sound, position, volume, 1);
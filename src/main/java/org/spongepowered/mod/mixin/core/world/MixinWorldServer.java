@@ -37,6 +37,7 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.mod.interfaces.IMixinWorld;
+import org.spongepowered.mod.world.ChunkGarbageCollector;
 
 @NonnullByDefault
 @Mixin(WorldServer.class)
@@ -58,4 +59,9 @@ public abstract class MixinWorldServer extends MixinWorld {
         IMixinWorld world = (IMixinWorld) ci.getReturnValue();
         world.updateWorldGenerator();
     }
+
+    @Inject(method = "tick()V", at = @At("RETURN"))
+    public void onTick(CallbackInfo ci) {
+        ChunkGarbageCollector.tick((WorldServer) (Object) this);
+    }
 }
@@ -47,27 +47,26 @@ import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.util.BlockPos;
 import net.minecraft.util.MathHelper;
 import net.minecraft.world.World;
+import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraftforge.common.util.FakePlayer;
+import org.spongepowered.mod.configuration.EffectiveConfig;
 import org.spongepowered.mod.configuration.SpongeConfig;
 import org.spongepowered.mod.entity.SpongeEntityType;
 import org.spongepowered.mod.interfaces.IMixinEntity;
 import org.spongepowered.mod.interfaces.IMixinWorld;
 import org.spongepowered.mod.interfaces.IMixinWorldProvider;
 import org.spongepowered.mod.mixin.plugin.CoreMixinPlugin;
+import org.spongepowered.mod.util.SpongeHooks;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ActivationRange {
 
-    static AxisAlignedBB maxBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB miscBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB creatureBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB monsterBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB aquaticBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB ambientBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
     /**
      * Initializes an entities type on construction to specify what group this
      * entity is in for activation ranges.
@@ -94,6 +93,26 @@ public class ActivationRange {
         }
     }
 
+    /**
+     * Gets the config node name entities of an activation type are listed
+     * under.
+     *
+     * @param activationType The activation type
+     * @return The node name
+     */
+    public static String getActivationTypeName(byte activationType) {
+        if (activationType == 1) {
+            return "monster";
+        } else if (activationType == 2) {
+            return "creature";
+        } else if (activationType == 3) {
+            return "aquatic";
+        } else if (activationType == 4) {
+            return "ambient";
+        }
+        return "misc";
+    }
+
     /**
      * These entities are excluded from Activation range checks.
      *
@@ -104,13 +123,13 @@ public class ActivationRange {
         if (entity.worldObj.isRemote) {
             return true;
         }
-        SpongeConfig.EntityActivationRangeCategory config = getActiveConfig(entity.worldObj).getConfig().getEntityActivationRange();
+        EffectiveConfig config = SpongeHooks.getEffectiveConfig(entity.worldObj);
 
-        if ((((IMixinEntity) entity).getActivationType() == 5 && config.getMiscActivationRange() == 0)
-                || (((IMixinEntity) entity).getActivationType() == 4 && config.getAmbientActivationRange() == 0)
-                || (((IMixinEntity) entity).getActivationType() == 3 && config.getAquaticActivationRange() == 0)
-                || (((IMixinEntity) entity).getActivationType() == 2 && config.getCreatureActivationRange() == 0)
-                || (((IMixinEntity) entity).getActivationType() == 1 && config.getMonsterActivationRange() == 0)
+        if ((((IMixinEntity) entity).getActivationType() == 5 && config.miscActivationRange == 0)
+                || (((IMixinEntity) entity).getActivationType() == 4 && config.ambientActivationRange == 0)
+                || (((IMixinEntity) entity).getActivationType() == 3 && config.aquaticActivationRange == 0)
+                || (((IMixinEntity) entity).getActivationType() == 2 && config.creatureActivationRange == 0)
+                || (((IMixinEntity) entity).getActivationType() == 1 && config.monsterActivationRange == 0)
                 || (entity instanceof EntityPlayer && !(entity instanceof FakePlayer))
                 || entity instanceof EntityThrowable
                 || entity instanceof EntityDragon
@@ -150,17 +169,23 @@ public class ActivationRange {
      * Find what entities are in range of the players in the world and set
      * active if in range.
      *
+     * <p>Players are first indexed by the chunks their largest activation
+     * range covers, so every chunk near a group of players has its entities
+     * visited once per tick rather than once per player.</p>
+     *
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(World world) {
-        SpongeConfig.EntityActivationRangeCategory config = getActiveConfig(world).getConfig().getEntityActivationRange();
-        final int miscActivationRange = config.getMiscActivationRange();
-        final int creatureActivationRange = config.getCreatureActivationRange();
-        final int monsterActivationRange = config.getMonsterActivationRange();
-        final int aquaticActivationRange = config.getAquaticActivationRange();
-        final int ambientActivationRange = config.getAmbientActivationRange();
-
-        int[] ranges = {miscActivationRange, creatureActivationRange, monsterActivationRange, aquaticActivationRange, ambientActivationRange};
+        EffectiveConfig config = SpongeHooks.getEffectiveConfig(world);
+        final int miscActivationRange = config.miscActivationRange;
+        final int creatureActivationRange = config.creatureActivationRange;
+        final int monsterActivationRange = config.monsterActivationRange;
+        final int aquaticActivationRange = config.aquaticActivationRange;
+        final int ambientActivationRange = config.ambientActivationRange;
+
+        // indexed by activation type
+        int[] ranges = {miscActivationRange, monsterActivationRange, creatureActivationRange, aquaticActivationRange, ambientActivationRange,
+                miscActivationRange};
         int maxRange = 0;
         for (int range : ranges) {
             if (range > maxRange) {
@@ -168,94 +193,102 @@ public class ActivationRange {
             }
         }
 
-        maxRange = Math.max(maxRange, miscActivationRange);
         maxRange = Math.min((6 << 4) - 8, maxRange);
 
+        final long worldTime = world.getWorldInfo().getWorldTotalTime();
+        Map<Long, List<AxisAlignedBB>> chunkPlayers = new LinkedHashMap<Long, List<AxisAlignedBB>>();
         for (Object entity : world.playerEntities) {
 
             Entity player = (Entity) entity;
-            ((IMixinEntity) player).setActivatedTick(world.getWorldInfo().getWorldTotalTime());
-            growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
-            growBb(miscBB, player.getEntityBoundingBox(), miscActivationRange, 256, miscActivationRange);
-            growBb(creatureBB, player.getEntityBoundingBox(), creatureActivationRange, 256, creatureActivationRange);
-            growBb(monsterBB, player.getEntityBoundingBox(), monsterActivationRange, 256, monsterActivationRange);
-            growBb(aquaticBB, player.getEntityBoundingBox(), aquaticActivationRange, 256, aquaticActivationRange);
-            growBb(ambientBB, player.getEntityBoundingBox(), ambientActivationRange, 256, ambientActivationRange);
-
-            int i = MathHelper.floor_double(maxBB.minX / 16.0D);
-            int j = MathHelper.floor_double(maxBB.maxX / 16.0D);
-            int k = MathHelper.floor_double(maxBB.minZ / 16.0D);
-            int l = MathHelper.floor_double(maxBB.maxZ / 16.0D);
+            ((IMixinEntity) player).setActivatedTick(worldTime);
+            AxisAlignedBB playerBB = player.getEntityBoundingBox();
+
+            int i = MathHelper.floor_double((playerBB.minX - maxRange) / 16.0D);
+            int j = MathHelper.floor_double((playerBB.maxX + maxRange) / 16.0D);
+            int k = MathHelper.floor_double((playerBB.minZ - maxRange) / 16.0D);
+            int l = MathHelper.floor_double((playerBB.maxZ + maxRange) / 16.0D);
 
             for (int i1 = i; i1 <= j; ++i1) {
                 for (int j1 = k; j1 <= l; ++j1) {
-                    WorldServer worldserver = (WorldServer) world;
-                    if (worldserver.theChunkProviderServer.chunkExists(i1, j1)) {
-                        activateChunkEntities(world.getChunkFromChunkCoords(i1, j1));
+                    Long key = ChunkCoordIntPair.chunkXZ2Int(i1, j1);
+                    List<AxisAlignedBB> players = chunkPlayers.get(key);
+                    if (players == null) {
+                        players = new ArrayList<AxisAlignedBB>(2);
+                        chunkPlayers.put(key, players);
                     }
+                    players.add(playerBB);
                 }
             }
         }
+
+        WorldServer worldserver = (WorldServer) world;
+        for (Map.Entry<Long, List<AxisAlignedBB>> entry : chunkPlayers.entrySet()) {
+            long key = entry.getKey();
+            int chunkX = (int) key;
+            int chunkZ = (int) (key >> 32);
+            if (worldserver.theChunkProviderServer.chunkExists(chunkX, chunkZ)) {
+                activateChunkEntities(world.getChunkFromChunkCoords(chunkX, chunkZ), config, ranges, entry.getValue(), worldTime);
+            }
+        }
     }
 
     /**
      * Checks for the activation state of all entities in this chunk.
      *
      * @param chunk Chunk to check for activation
+     * @param config The active config of the chunk's world
+     * @param ranges Activation ranges, indexed by activation type
+     * @param players Bounding boxes of the players whose range covers the
+     *        chunk
+     * @param worldTime The current total world time
      */
     @SuppressWarnings("rawtypes")
-    private static void activateChunkEntities(Chunk chunk) {
+    private static void activateChunkEntities(Chunk chunk, EffectiveConfig config, int[] ranges, List<AxisAlignedBB> players, long worldTime) {
         for (int i = 0; i < chunk.getEntityLists().length; ++i) {
 
             for (Object o : chunk.getEntityLists()[i]) {
                 Entity entity = (Entity) o;
-                SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-                // TODO
-                if (config == null) continue;
-                SpongeEntityType type = (SpongeEntityType) ((org.spongepowered.api.entity.Entity) entity).getType();
-                if (entity.worldObj.getWorldInfo().getWorldTotalTime() > ((IMixinEntity) entity).getActivatedTick()) {
-                    if (((IMixinEntity) entity).getDefaultActivationState()) {
-                        ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
+                IMixinEntity spongeEntity = (IMixinEntity) entity;
+                if (worldTime > spongeEntity.getActivatedTick()) {
+                    if (spongeEntity.getDefaultActivationState()) {
+                        spongeEntity.setActivatedTick(worldTime);
                         continue;
                     }
-                    if (!config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId(), "enabled").getBoolean()
-                            || !config.getRootNode()
-                            .getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId(), "entities", type.getEntityName())
-                            .getBoolean()) {
+                    SpongeEntityType type = (SpongeEntityType) ((org.spongepowered.api.entity.Entity) entity).getType();
+                    byte activationType = spongeEntity.getActivationType();
+                    if (!config.isActivationRangeEnabled(type, activationType)) {
                         continue;
                     }
-                    switch (((IMixinEntity) entity).getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
-                            }
-                            break;
-                        case 4:
-                            if (ambientBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
-                            }
-                            break;
-                        case 5:
-                        default:
-                            if (miscBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
-                            }
+                    int range = ranges[activationType > 0 && activationType < ranges.length ? activationType : 5];
+                    if (isInRange(entity.getEntityBoundingBox(), players, range)) {
+                        spongeEntity.setActivatedTick(worldTime);
                     }
                 }
             }
         }
     }
 
+    /**
+     * Checks whether a bounding box intersects any of the given player
+     * bounding boxes grown by the given horizontal range.
+     *
+     * @param bb The bounding box to check
+     * @param players The player bounding boxes
+     * @param range The horizontal range to grow the player boxes by
+     * @return Whether the bounding box is in range of any player
+     */
+    private static boolean isInRange(AxisAlignedBB bb, List<AxisAlignedBB> players, int range) {
+        for (int i = 0; i < players.size(); i++) {
+            AxisAlignedBB player = players.get(i);
+            if (bb.maxX > player.minX - range && bb.minX < player.maxX + range
+                    && bb.maxY > player.minY - 256 && bb.minY < player.maxY + 256
+                    && bb.maxZ > player.minZ - range && bb.minZ < player.maxZ + range) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * If an entity is not in range, do some more checks to see if we should
      * give it a shot.
@@ -318,16 +351,7 @@ public class ActivationRange {
         Preconditions.checkNotNull(configs.get(0), "global");
         Preconditions.checkNotNull(configs.get(1), "dimension");
         Preconditions.checkNotNull(configs.get(2), "world");
-        String entityType = "misc";
-        if (activationType == 1) {
-            entityType = "monster";
-        } else if (activationType == 2) {
-            entityType = "creature";
-        } else if (activationType == 3) {
-            entityType = "aquatic";
-        } else if (activationType == 4) {
-            entityType = "ambient";
-        }
+        String entityType = getActivationTypeName(activationType);
 
         for (SpongeConfig<?> config : configs) {
             // TODO
@@ -340,20 +364,12 @@ public class ActivationRange {
                     .isVirtual()) {
                 config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId(), entityType, type.getEntityName())
                         .setValue(true);
-                config.save();
+                config.saveDefaults();
             }
         }
     }
 
     public static SpongeConfig<?> getActiveConfig(World world) {
-        SpongeConfig<?> config = ((IMixinWorld) world).getWorldConfig();
-        if (config.getConfig().isConfigEnabled()) {
-            return config;
-        } else if (((IMixinWorldProvider) world.provider).getDimensionConfig() != null && ((IMixinWorldProvider) world.provider)
-                .getDimensionConfig().getConfig().isConfigEnabled()) {
-            return ((IMixinWorldProvider) world.provider).getDimensionConfig();
-        } else {
-            return CoreMixinPlugin.getGlobalConfig();
-        }
+        return SpongeHooks.getActiveConfig(world);
     }
 }
@@ -0,0 +1,191 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.tileentityactivation;
+
+import com.google.common.base.Preconditions;
+import net.minecraft.entity.Entity;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.World;
+import org.spongepowered.mod.configuration.EffectiveConfig;
+import org.spongepowered.mod.configuration.EffectiveConfig.TileEntityActivationSettings;
+import org.spongepowered.mod.configuration.SpongeConfig;
+import org.spongepowered.mod.interfaces.IMixinWorld;
+import org.spongepowered.mod.interfaces.IMixinWorldProvider;
+import org.spongepowered.mod.mixin.plugin.CoreMixinPlugin;
+import org.spongepowered.mod.util.SpongeHooks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TileEntityActivation {
+
+    // State of the world whose tile entities are currently being ticked
+    private static World activeWorld;
+    private static EffectiveConfig activeConfig;
+    private static long activeWorldTime;
+    private static final Map<Long, List<Entity>> chunkPlayers = new HashMap<Long, List<Entity>>();
+
+    /**
+     * Indexes the players of the world by the chunks in range of them, ready
+     * for the tile entities of the world to be ticked.
+     *
+     * @param world The world about to tick its tile entities
+     */
+    public static void activateTileEntities(World world) {
+        activeWorld = world;
+        activeWorldTime = world.getWorldInfo().getWorldTotalTime();
+        chunkPlayers.clear();
+
+        activeConfig = SpongeHooks.getEffectiveConfig(world);
+        int maxRange = activeConfig.getMaxTileEntityActivationRange();
+        if (maxRange <= 0) {
+            return;
+        }
+
+        for (Object entity : world.playerEntities) {
+            Entity player = (Entity) entity;
+            int minChunkX = ((int) Math.floor(player.posX) - maxRange) >> 4;
+            int maxChunkX = ((int) Math.floor(player.posX) + maxRange) >> 4;
+            int minChunkZ = ((int) Math.floor(player.posZ) - maxRange) >> 4;
+            int maxChunkZ = ((int) Math.floor(player.posZ) + maxRange) >> 4;
+
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; ++chunkX) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; ++chunkZ) {
+                    Long key = ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ);
+                    List<Entity> players = chunkPlayers.get(key);
+                    if (players == null) {
+                        players = new ArrayList<Entity>(2);
+                        chunkPlayers.put(key, players);
+                    }
+                    players.add(player);
+                }
+            }
+        }
+    }
+
+    /**
+     * Releases the player index once the world has ticked its tile entities.
+     */
+    public static void deactivateTileEntities() {
+        activeWorld = null;
+        activeConfig = null;
+        chunkPlayers.clear();
+    }
+
+    /**
+     * Checks if the tile entity should tick this tick. Tile entities out of
+     * range of every player only tick once every configured number of ticks,
+     * staggered by position so they do not all tick together.
+     *
+     * @param world The world the tile entity is ticking in
+     * @param tileEntity The tile entity to check
+     * @return Whether the tile entity should tick
+     */
+    public static boolean checkIfActive(World world, TileEntity tileEntity) {
+        if (world != activeWorld) {
+            return true;
+        }
+
+        TileEntityActivationSettings settings = getSettings(world, activeConfig, tileEntity.getClass());
+        if (settings.activationRange <= 0 || settings.tickRate <= 1) {
+            return true;
+        }
+
+        BlockPos pos = tileEntity.getPos();
+        List<Entity> players = chunkPlayers.get(ChunkCoordIntPair.chunkXZ2Int(pos.getX() >> 4, pos.getZ() >> 4));
+        if (players != null) {
+            for (int i = 0; i < players.size(); i++) {
+                Entity player = players.get(i);
+                if (Math.abs(player.posX - pos.getX()) <= settings.activationRange
+                        && Math.abs(player.posZ - pos.getZ()) <= settings.activationRange) {
+                    return true;
+                }
+            }
+        }
+
+        return (activeWorldTime + (pos.hashCode() & Integer.MAX_VALUE)) % settings.tickRate == 0;
+    }
+
+    private static TileEntityActivationSettings getSettings(World world, EffectiveConfig config, Class<? extends TileEntity> type) {
+        TileEntityActivationSettings settings = config.getTileEntityActivation(type);
+        if (settings == null) {
+            String name = getTileEntityName(type);
+            String modId = getTileEntityModId(type);
+            addTileEntityToConfig(world, modId, name);
+            settings = config.resolveTileEntityActivation(type, modId, name);
+        }
+        return settings;
+    }
+
+    private static String getTileEntityName(Class<? extends TileEntity> type) {
+        String name = (String) TileEntity.classToNameMap.get(type);
+        if (name == null) {
+            name = type.getSimpleName();
+        }
+        return name.substring(name.indexOf(':') + 1).toLowerCase();
+    }
+
+    private static String getTileEntityModId(Class<? extends TileEntity> type) {
+        String name = (String) TileEntity.classToNameMap.get(type);
+        if (name != null && name.indexOf(':') > 0) {
+            return name.substring(0, name.indexOf(':')).toLowerCase();
+        }
+        return type.getName().startsWith("net.minecraft.") ? "minecraft" : "unknown";
+    }
+
+    public static void addTileEntityToConfig(World world, String modId, String name) {
+        Preconditions.checkNotNull(world, "world");
+
+        List<SpongeConfig<?>> configs = new ArrayList<SpongeConfig<?>>();
+        configs.add(CoreMixinPlugin.getGlobalConfig());
+        configs.add(((IMixinWorldProvider) world.provider).getDimensionConfig());
+        configs.add(((IMixinWorld) world).getWorldConfig());
+
+        for (SpongeConfig<?> config : configs) {
+            if (config == null) {
+                continue;
+            }
+            boolean changed = false;
+            if (config.getRootNode().getNode(SpongeConfig.MODULE_TILE_ENTITY_ACTIVATION_RANGE, modId).isVirtual()) {
+                config.getRootNode().getNode(SpongeConfig.MODULE_TILE_ENTITY_ACTIVATION_RANGE, modId, "enabled").setValue(true);
+                changed = true;
+            }
+
+            if (config.getRootNode().getNode(SpongeConfig.MODULE_TILE_ENTITY_ACTIVATION_RANGE, modId, name).isVirtual()) {
+                config.getRootNode().getNode(SpongeConfig.MODULE_TILE_ENTITY_ACTIVATION_RANGE, modId, name, "enabled").setValue(true);
+                changed = true;
+            }
+
+            if (changed) {
+                config.saveDefaults();
+            }
+        }
+    }
+
+}
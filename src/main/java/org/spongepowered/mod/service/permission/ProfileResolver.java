@@ -0,0 +1,185 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.permission;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mojang.authlib.GameProfile;
+import net.minecraft.server.MinecraftServer;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Nullable;
+
+/**
+ * Resolves game profiles by unique id without blocking the caller.
+ *
+ * <p>Resolved profiles are kept in a bounded in-memory cache in front of the
+ * server's profile cache. Lookups that miss both go to a
+ * {@link ProfileLookup} on a background thread, concurrent requests for the
+ * same unique id share one lookup. Profiles found that way are added to the
+ * server's profile cache on the main thread, and usercache.json is saved at
+ * most once every few seconds.</p>
+ */
+public class ProfileResolver {
+    private static final int MAX_CACHED_PROFILES = 1000;
+    private static final long FLUSH_DELAY_SECONDS = 5;
+
+    private final Cache<UUID, GameProfile> profiles = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_PROFILES).build();
+    private final ConcurrentMap<UUID, ListenableFuture<GameProfile>> pending = new ConcurrentHashMap<UUID, ListenableFuture<GameProfile>>();
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2,
+            new ThreadFactoryBuilder().setNameFormat("Sponge Profile Resolver #%d").setDaemon(true).build());
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile ProfileLookup lookup;
+
+    public ProfileResolver(ProfileLookup lookup) {
+        this.lookup = lookup;
+    }
+
+    public ProfileLookup getLookup() {
+        return this.lookup;
+    }
+
+    public void setLookup(ProfileLookup lookup) {
+        this.lookup = lookup;
+    }
+
+    /**
+     * Gets a profile that has already been resolved.
+     *
+     * <p>The server's profile cache is only consulted when called from the
+     * main thread, other threads only see profiles resolved through this
+     * class.</p>
+     *
+     * @param uniqueId The unique id
+     * @return The profile, or null if it has not been resolved yet
+     */
+    @Nullable
+    public GameProfile getIfPresent(UUID uniqueId) {
+        GameProfile profile = this.profiles.getIfPresent(uniqueId);
+        if (profile == null) {
+            // The server's profile cache is not thread safe, even reads reorder it
+            MinecraftServer server = MinecraftServer.getServer();
+            if (server != null && server.isCallingFromMinecraftThread()) {
+                profile = server.getPlayerProfileCache().getProfileByUUID(uniqueId);
+                if (profile != null) {
+                    this.profiles.put(uniqueId, profile);
+                }
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * Resolves the profile of a unique id.
+     *
+     * @param uniqueId The unique id
+     * @return A future completed with the profile, or with null if the
+     *     unique id is not known
+     */
+    public ListenableFuture<GameProfile> resolve(final UUID uniqueId) {
+        GameProfile profile = getIfPresent(uniqueId);
+        if (profile != null) {
+            return Futures.immediateFuture(profile);
+        }
+        ListenableFuture<GameProfile> future = this.pending.get(uniqueId);
+        if (future != null) {
+            return future;
+        }
+
+        ListenableFutureTask<GameProfile> task = ListenableFutureTask.create(new Callable<GameProfile>() {
+
+            @Override
+            public GameProfile call() throws Exception {
+                try {
+                    GameProfile resolved = ProfileResolver.this.lookup.lookup(uniqueId);
+                    if (resolved != null) {
+                        ProfileResolver.this.profiles.put(uniqueId, resolved);
+                        addToServerCache(resolved);
+                    }
+                    return resolved;
+                } finally {
+                    ProfileResolver.this.pending.remove(uniqueId);
+                }
+            }
+        });
+        future = this.pending.putIfAbsent(uniqueId, task);
+        if (future != null) {
+            return future;
+        }
+        this.executor.execute(task);
+        return task;
+    }
+
+    private void addToServerCache(final GameProfile profile) {
+        final MinecraftServer server = MinecraftServer.getServer();
+        if (server == null) {
+            return;
+        }
+        // The server's profile cache is not thread safe
+        server.addScheduledTask(new Runnable() {
+
+            @Override
+            public void run() {
+                server.getPlayerProfileCache().addEntry(profile);
+                scheduleFlush();
+            }
+        });
+    }
+
+    private void scheduleFlush() {
+        if (!this.flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        this.executor.schedule(new Runnable() {
+
+            @Override
+            public void run() {
+                ProfileResolver.this.flushScheduled.set(false);
+                final MinecraftServer server = MinecraftServer.getServer();
+                if (server != null) {
+                    server.addScheduledTask(new Runnable() {
+
+                        @Override
+                        public void run() {
+                            server.getPlayerProfileCache().save();
+                        }
+                    });
+                }
+            }
+        }, FLUSH_DELAY_SECONDS, TimeUnit.SECONDS);
+    }
+}
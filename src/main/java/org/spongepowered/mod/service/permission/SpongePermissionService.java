@@ -40,9 +40,11 @@ import org.spongepowered.mod.SpongeMod;
 import org.spongepowered.mod.service.permission.base.FixedParentMemorySubjectData;
 import org.spongepowered.mod.service.permission.base.GlobalMemorySubjectData;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Permission service representing the vanilla operator permission structure.
@@ -59,6 +61,7 @@ public class SpongePermissionService implements PermissionService {
 
     private final ConcurrentMap<String, SubjectCollection> subjects = new ConcurrentHashMap<String, SubjectCollection>();
     private final MemorySubjectData defaultData;
+    private final List<ContextCalculator> contextCalculators = new CopyOnWriteArrayList<ContextCalculator>();
 
     public SpongePermissionService() {
         this.subjects.put(SUBJECTS_USER, new UserCollection(this));
@@ -89,6 +92,7 @@ public class SpongePermissionService implements PermissionService {
         }));
 
         this.defaultData = new FixedParentMemorySubjectData(this, getGroupForOpLevel(0));
+        this.contextCalculators.add(new SpongeContextCalculator());
     }
 
     static UserListOps getOps() {
@@ -120,6 +124,11 @@ public class SpongePermissionService implements PermissionService {
 
     @Override
     public void registerContextCalculator(ContextCalculator calculator) {
+        this.contextCalculators.add(calculator);
+    }
+
+    public List<ContextCalculator> getContextCalculators() {
+        return this.contextCalculators;
     }
 
     @Override
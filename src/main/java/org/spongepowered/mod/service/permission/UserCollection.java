@@ -24,17 +24,28 @@
  */
 package org.spongepowered.mod.service.permission;
 
-import com.google.common.base.Function;
-import com.google.common.collect.Iterables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.mojang.authlib.GameProfile;
-import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.management.PlayerProfileCache;
 import net.minecraft.server.management.UserListOpsEntry;
+import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.service.permission.Subject;
+import org.spongepowered.api.service.permission.SubjectData;
+import org.spongepowered.api.service.permission.context.Context;
+import org.spongepowered.api.util.Tristate;
+import org.spongepowered.mod.service.permission.base.GlobalMemorySubjectData;
 import org.spongepowered.mod.service.permission.base.SpongeSubjectCollection;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.annotation.Nullable;
 
@@ -44,6 +55,11 @@ import javax.annotation.Nullable;
  */
 public class UserCollection extends SpongeSubjectCollection {
     private final SpongePermissionService service;
+    private final ProfileResolver profileResolver = new ProfileResolver(new MojangProfileLookup());
+    // Subjects are shared by everyone asking for the same user and dropped
+    // once nothing references them, unless permissions were set on them
+    private final Cache<UUID, UserSubject> subjects = CacheBuilder.newBuilder().weakValues().build();
+    private final ConcurrentMap<UUID, UserSubject> retained = new ConcurrentHashMap<UUID, UserSubject>();
 
     public UserCollection(SpongePermissionService service) {
         super(PermissionService.SUBJECTS_USER);
@@ -56,22 +72,57 @@ public class UserCollection extends SpongeSubjectCollection {
         if (uid == null) {
             throw new IllegalArgumentException("Provided identifier must be a uuid, was " + identifier);
         }
-        return get(uuidToGameProfile(uid));
+        UserSubject subject = this.subjects.getIfPresent(uid);
+        if (subject != null) {
+            return subject;
+        }
+        GameProfile profile = this.profileResolver.getIfPresent(uid);
+        if (profile != null) {
+            return get(profile);
+        }
+
+        // Hand out the subject right away, the name is filled in once the
+        // profile has been looked up
+        final UserSubject newSubject = get(new GameProfile(uid, null));
+        Futures.addCallback(this.profileResolver.resolve(uid), new FutureCallback<GameProfile>() {
+
+            @Override
+            public void onSuccess(@Nullable GameProfile result) {
+                if (result != null) {
+                    newSubject.setProfile(result);
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                // The subject keeps working with just the unique id
+            }
+        });
+        return newSubject;
     }
 
-    protected Subject get(GameProfile profile) {
-        return new UserSubject(profile, this);
+    protected UserSubject get(GameProfile profile) {
+        UserSubject subject = this.subjects.getIfPresent(profile.getId());
+        if (subject == null) {
+            subject = new UserSubject(profile, this);
+            UserSubject existing = this.subjects.asMap().putIfAbsent(profile.getId(), subject);
+            if (existing != null) {
+                subject = existing;
+            }
+        }
+        return subject;
     }
 
-    private GameProfile uuidToGameProfile(UUID uid) {
-        PlayerProfileCache cache = MinecraftServer.getServer().getPlayerProfileCache();
-        GameProfile profile = cache.getProfileByUUID(uid); // Get already cached profile by uuid
-        if (profile == null) {
-            profile = MinecraftServer.getServer().getMinecraftSessionService().fillProfileProperties(new GameProfile(uid, null), false);
-            cache.addEntry(profile); // Cache newly looked up profile
-            cache.save(); // Save
+    boolean updateRetained(UserSubject subject, boolean changed) {
+        if (changed) {
+            UUID uid = subject.getProfile().getId();
+            if (((GlobalMemorySubjectData) subject.getData()).hasPermissions()) {
+                this.retained.put(uid, subject);
+            } else {
+                this.retained.remove(uid, subject);
+            }
         }
-        return profile;
+        return changed;
     }
 
     @Override
@@ -80,8 +131,8 @@ public class UserCollection extends SpongeSubjectCollection {
         if (uid == null) {
             return false;
         }
-        GameProfile profile = uuidToGameProfile(uid);
-        return SpongePermissionService.getOps().getEntry(profile) != null;
+        // Ops are keyed by unique id, the name is not needed
+        return SpongePermissionService.getOps().getEntry(new GameProfile(uid, null)) != null;
     }
 
     private UUID identToUuid(String identifier) {
@@ -93,19 +144,56 @@ public class UserCollection extends SpongeSubjectCollection {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public Iterable<Subject> getAllSubjects() {
-        return Iterables.<Object, Subject>transform(SpongePermissionService.getOps().getValues().values(), new Function<Object, Subject>() {
-            @Nullable
-            @Override
-            public Subject apply(Object input) {
-                GameProfile profile = ((GameProfile) ((UserListOpsEntry) input).value);
-                return get(profile);
+        Set<Subject> subjects = new LinkedHashSet<Subject>(getOpSubjects());
+        subjects.addAll(this.retained.values());
+        return subjects;
+    }
+
+    @Override
+    protected Iterable<Subject> getImplicitPermissionSubjects(String permission) {
+        // Every user falls back to the default data, if that may have a value
+        // for the permission no user can be ruled out
+        if (mayDefinePermission(this.service.getDefaultData(), permission, new HashSet<Subject>())) {
+            return null;
+        }
+        // Otherwise, besides their own data, users only get permissions through their op level
+        return getOpSubjects();
+    }
+
+    private static boolean mayDefinePermission(MemorySubjectData data, String permission, Set<Subject> visited) {
+        Iterable<Set<Context>> contexts = data instanceof GlobalMemorySubjectData
+                ? ((GlobalMemorySubjectData) data).getPermissionContexts() : data.getAllPermissions().keySet();
+        for (Set<Context> context : contexts) {
+            if (data.getNodeTree(context).get(permission) != Tristate.UNDEFINED) {
+                return true;
             }
-        });
+        }
+        for (Subject parent : data.getParents(SubjectData.GLOBAL_CONTEXT)) {
+            if (!visited.add(parent)) {
+                continue;
+            }
+            if (!(parent.getData() instanceof MemorySubjectData)
+                    || mayDefinePermission((MemorySubjectData) parent.getData(), permission, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Collection<Subject> getOpSubjects() {
+        Set<Subject> subjects = new LinkedHashSet<Subject>();
+        for (Object entry : SpongePermissionService.getOps().getValues().values()) {
+            subjects.add(get((GameProfile) ((UserListOpsEntry) entry).value));
+        }
+        return subjects;
     }
 
     public SpongePermissionService getService() {
         return this.service;
     }
+
+    public ProfileResolver getProfileResolver() {
+        return this.profileResolver;
+    }
 }
@@ -43,7 +43,7 @@ import java.util.Set;
  * An implementation of vanilla minecraft's 4 op groups.
  */
 public class UserSubject extends SpongeSubject {
-    private final GameProfile player;
+    private volatile GameProfile player;
     private final MemorySubjectData data;
     private final UserCollection collection;
 
@@ -51,6 +51,23 @@ public class UserSubject extends SpongeSubject {
         super(users.getService());
         this.player = player;
         this.data = new SingleParentMemorySubjectData(users.getService()) {
+            // Keep the subject, and with it this data, from being collected
+            // for as long as it has permissions set
+            @Override
+            public boolean setPermission(Set<Context> contexts, String permission, Tristate value) {
+                return users.updateRetained(UserSubject.this, super.setPermission(contexts, permission, value));
+            }
+
+            @Override
+            public boolean clearPermissions(Set<Context> contexts) {
+                return users.updateRetained(UserSubject.this, super.clearPermissions(contexts));
+            }
+
+            @Override
+            public boolean clearPermissions() {
+                return users.updateRetained(UserSubject.this, super.clearPermissions());
+            }
+
             @Override
             public Subject getParent() {
                 int opLevel = getOpLevel();
@@ -69,9 +86,19 @@ public class UserSubject extends SpongeSubject {
                     opLevel = ((OpLevelCollection.OpLevelSubject) parent).getOpLevel();
                 }
                 if (opLevel > 0) {
-                    SpongePermissionService.getOps().addEntry(new UserListOpsEntry(player, opLevel));
+                    GameProfile profile = UserSubject.this.player;
+                    if (profile.getName() == null) {
+                        // ops.json entries without a name can't be read back,
+                        // refuse until the profile has been resolved
+                        profile = users.getProfileResolver().getIfPresent(profile.getId());
+                        if (profile == null) {
+                            return false;
+                        }
+                        UserSubject.this.player = profile;
+                    }
+                    SpongePermissionService.getOps().addEntry(new UserListOpsEntry(profile, opLevel));
                 } else {
-                    SpongePermissionService.getOps().removeEntry(player);
+                    SpongePermissionService.getOps().removeEntry(UserSubject.this.player);
                 }
                 return true;
             }
@@ -84,6 +111,14 @@ public class UserSubject extends SpongeSubject {
         return this.player.getId().toString();
     }
 
+    GameProfile getProfile() {
+        return this.player;
+    }
+
+    void setProfile(GameProfile player) {
+        this.player = player;
+    }
+
     @Override
     public Optional<CommandSource> getCommandSource() {
         return Optional.fromNullable((CommandSource) MinecraftServer.getServer().getConfigurationManager().getPlayerByUUID(this.player.getId()));
@@ -112,10 +147,10 @@ public class UserSubject extends SpongeSubject {
     }
 
     @Override
-    public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-        Tristate ret = super.getPermissionValue(contexts, permission);
+    protected Tristate resolvePermissionValue(Set<Context> contexts, String permission) {
+        Tristate ret = super.resolvePermissionValue(contexts, permission);
         if (ret == Tristate.UNDEFINED) {
-            ret = getDataPermissionValue(this.collection.getService().getDefaultData(), permission);
+            ret = getDataPermissionValue(this.collection.getService().getDefaultData(), contexts, permission);
         }
         if (ret == Tristate.UNDEFINED && getOpLevel() >= this.collection.getService().getServerOpLevel()) {
             ret = Tristate.TRUE;
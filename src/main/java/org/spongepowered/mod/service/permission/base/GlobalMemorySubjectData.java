@@ -31,11 +31,21 @@ import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.context.Context;
 import org.spongepowered.api.util.Tristate;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Subject data whose parents are always global. Permissions may be set for
+ * any set of contexts.
+ */
 public class GlobalMemorySubjectData extends MemorySubjectData {
+    private static final AtomicInteger generation = new AtomicInteger();
+    // Context sets permissions have been set for, readable without copying every node tree
+    private final Set<Set<Context>> permissionContexts = Collections.newSetFromMap(new ConcurrentHashMap<Set<Context>, Boolean>());
 
     /**
      * Creates a new subject data instance, using the provided service to request instances of permission subjects.
@@ -46,6 +56,49 @@ public class GlobalMemorySubjectData extends MemorySubjectData {
         super(service);
     }
 
+    /**
+     * Gets a counter that changes whenever the permissions or parents of any
+     * subject data change. Resolved permission values are only valid as long
+     * as it stays the same.
+     *
+     * @return The current generation
+     */
+    public static int getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Invalidates all resolved permission values.
+     */
+    public static void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private static boolean invalidateIf(boolean changed) {
+        if (changed) {
+            invalidate();
+        }
+        return changed;
+    }
+
+    /**
+     * Gets the sets of contexts that may have permissions set in this data.
+     * Unlike {@link #getAllPermissions()} this does not copy any node trees.
+     *
+     * @return A live view of the interned context sets
+     */
+    public Set<Set<Context>> getPermissionContexts() {
+        return Collections.unmodifiableSet(this.permissionContexts);
+    }
+
+    /**
+     * Checks whether any permission is set in this data, in any context.
+     *
+     * @return Whether permissions are set
+     */
+    public boolean hasPermissions() {
+        return !this.permissionContexts.isEmpty();
+    }
 
     @Override
     public Map<Set<Context>, List<Subject>> getAllParents() {
@@ -54,18 +107,26 @@ public class GlobalMemorySubjectData extends MemorySubjectData {
 
     @Override
     public boolean setPermission(Set<Context> contexts, String permission, Tristate value) {
-        if (!GLOBAL_CONTEXT.equals(contexts)) {
-            return false;
+        contexts = SpongeSubject.internContexts(contexts);
+        boolean changed = super.setPermission(contexts, permission, value);
+        if (changed) {
+            if (value != Tristate.UNDEFINED) {
+                this.permissionContexts.add(contexts);
+            } else if (getPermissions(contexts).isEmpty()) {
+                this.permissionContexts.remove(contexts);
+            }
         }
-        return super.setPermission(contexts, permission, value);
+        return invalidateIf(changed);
     }
 
     @Override
     public boolean clearPermissions(Set<Context> contexts) {
-        if (!GLOBAL_CONTEXT.equals(contexts)) {
-            return false;
+        contexts = SpongeSubject.internContexts(contexts);
+        boolean changed = super.clearPermissions(contexts);
+        if (changed) {
+            this.permissionContexts.remove(contexts);
         }
-        return super.clearPermissions(contexts);
+        return invalidateIf(changed);
     }
 
     @Override
@@ -73,7 +134,7 @@ public class GlobalMemorySubjectData extends MemorySubjectData {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.addParent(contexts, parent);
+        return invalidateIf(super.addParent(contexts, parent));
     }
 
     @Override
@@ -81,7 +142,7 @@ public class GlobalMemorySubjectData extends MemorySubjectData {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.removeParent(contexts, parent);
+        return invalidateIf(super.removeParent(contexts, parent));
     }
 
     @Override
@@ -89,6 +150,20 @@ public class GlobalMemorySubjectData extends MemorySubjectData {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.clearParents(contexts);
+        return invalidateIf(super.clearParents(contexts));
+    }
+
+    @Override
+    public boolean clearPermissions() {
+        boolean changed = super.clearPermissions();
+        if (changed) {
+            this.permissionContexts.clear();
+        }
+        return invalidateIf(changed);
+    }
+
+    @Override
+    public boolean clearParents() {
+        return invalidateIf(super.clearParents());
     }
 }
@@ -84,6 +84,7 @@ public class SingleParentMemorySubjectData extends GlobalMemorySubjectData {
 
     public boolean setParent(Subject parent) {
         this.parent = parent;
+        invalidate();
         return true;
     }
 
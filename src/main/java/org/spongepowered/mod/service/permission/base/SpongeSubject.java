@@ -24,18 +24,30 @@
  */
 package org.spongepowered.mod.service.permission.base;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import net.minecraft.server.MinecraftServer;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.SubjectData;
 import org.spongepowered.api.service.permission.context.Context;
+import org.spongepowered.api.service.permission.context.ContextCalculator;
 import org.spongepowered.api.util.Tristate;
 import org.spongepowered.mod.service.permission.SpongePermissionService;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public abstract class SpongeSubject implements Subject {
+    private static final int MAX_RESOLVED_PERMISSIONS = 1024;
+    private static final Interner<Set<Context>> contextInterner = Interners.newWeakInterner();
     private final SpongePermissionService service;
+    private volatile ResolvedPermissions resolved;
+    private volatile ActiveContexts activeContexts;
 
     protected SpongeSubject(SpongePermissionService service) {
         this.service = service;
@@ -65,15 +77,70 @@ public abstract class SpongeSubject implements Subject {
 
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-        return getDataPermissionValue(getData(), permission);
+        contexts = internContexts(contexts);
+        ConcurrentMap<String, Tristate> values = getResolvedPermissions().get(contexts);
+        Tristate res = values.get(permission);
+        if (res == null) {
+            res = resolvePermissionValue(contexts, permission);
+            if (values.size() < MAX_RESOLVED_PERMISSIONS) {
+                values.put(permission, res);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Gets the shared immutable instance of a set of contexts, so that equal
+     * sets can be used as cheap map keys.
+     *
+     * @param contexts The contexts
+     * @return The interned contexts
+     */
+    public static Set<Context> internContexts(Set<Context> contexts) {
+        if (contexts.isEmpty()) {
+            return SubjectData.GLOBAL_CONTEXT;
+        }
+        return contextInterner.intern(contexts instanceof ImmutableSet ? contexts : ImmutableSet.copyOf(contexts));
+    }
+
+    /**
+     * Works out the value of a permission for this subject. The result is
+     * cached until any subject data changes.
+     *
+     * @param contexts The interned contexts to check in
+     * @param permission The permission to check
+     * @return The value of the permission
+     */
+    protected Tristate resolvePermissionValue(Set<Context> contexts, String permission) {
+        return getDataPermissionValue(getData(), contexts, permission);
+    }
+
+    private ResolvedPermissions getResolvedPermissions() {
+        // Read before resolving anything, so a change made while resolving
+        // leaves the new cache stale rather than the old values current
+        int generation = GlobalMemorySubjectData.getGeneration();
+        ResolvedPermissions resolved = this.resolved;
+        if (resolved == null || resolved.generation != generation) {
+            resolved = new ResolvedPermissions(generation);
+            this.resolved = resolved;
+        }
+        return resolved;
     }
 
-    protected Tristate getDataPermissionValue(MemorySubjectData subject, String permission) {
-        Tristate res = getData().getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
+    protected Tristate getDataPermissionValue(MemorySubjectData subject, Set<Context> contexts, String permission) {
+        // The node trees already match the permission segment by segment,
+        // parents answer from their own resolved permissions
+        Tristate res = Tristate.UNDEFINED;
+        if (!contexts.isEmpty()) {
+            res = getContextPermissionValue(subject, contexts, permission);
+        }
+        if (res == Tristate.UNDEFINED) {
+            res = subject.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
+        }
 
         if (res == Tristate.UNDEFINED) {
             for (Subject parent : subject.getParents(SubjectData.GLOBAL_CONTEXT)) {
-                Tristate tempRes = parent.getPermissionValue(SubjectData.GLOBAL_CONTEXT, permission);
+                Tristate tempRes = parent.getPermissionValue(contexts, permission);
                 if (tempRes != Tristate.UNDEFINED) {
                     res = tempRes;
                     break;
@@ -83,9 +150,30 @@ public abstract class SpongeSubject implements Subject {
         return res;
     }
 
+    private static Tristate getContextPermissionValue(MemorySubjectData subject, Set<Context> contexts, String permission) {
+        // Permissions set for a subset of the active contexts apply, the
+        // most specific set that defines the permission wins
+        Tristate res = Tristate.UNDEFINED;
+        int matchedSize = 0;
+        Set<Set<Context>> permissionContexts = subject instanceof GlobalMemorySubjectData
+                ? ((GlobalMemorySubjectData) subject).getPermissionContexts() : subject.getAllPermissions().keySet();
+        for (Set<Context> dataContexts : permissionContexts) {
+            if (dataContexts.size() <= matchedSize || !contexts.containsAll(dataContexts)) {
+                continue;
+            }
+            Tristate tempRes = subject.getNodeTree(dataContexts).get(permission);
+            if (tempRes != Tristate.UNDEFINED) {
+                res = tempRes;
+                matchedSize = dataContexts.size();
+            }
+        }
+        return res;
+    }
+
     @Override
     public boolean isChildOf(Subject parent) {
-        return isChildOf(getActiveContexts(), parent);
+        // Parents are only stored globally
+        return isChildOf(SubjectData.GLOBAL_CONTEXT, parent);
     }
 
     @Override
@@ -95,7 +183,7 @@ public abstract class SpongeSubject implements Subject {
 
     @Override
     public List<Subject> getParents() {
-        return getParents(getActiveContexts());
+        return getParents(SubjectData.GLOBAL_CONTEXT);
     }
 
     @Override
@@ -105,6 +193,54 @@ public abstract class SpongeSubject implements Subject {
 
     @Override
     public Set<Context> getActiveContexts() {
-        return SubjectData.GLOBAL_CONTEXT;
+        // Calculated at most once per tick, a subject changing worlds is
+        // picked up on the next tick
+        MinecraftServer server = MinecraftServer.getServer();
+        int tick = server == null ? -1 : server.getTickCounter();
+        ActiveContexts active = this.activeContexts;
+        if (active != null && active.tick == tick && tick != -1) {
+            return active.contexts;
+        }
+
+        Set<Context> accumulator = new HashSet<Context>();
+        for (ContextCalculator calculator : this.service.getContextCalculators()) {
+            calculator.accumulateContexts(this, accumulator);
+        }
+        Set<Context> contexts = internContexts(accumulator);
+        this.activeContexts = new ActiveContexts(tick, contexts);
+        return contexts;
+    }
+
+    private static final class ResolvedPermissions {
+        final int generation;
+        // Keyed by interned context sets
+        private final ConcurrentMap<Set<Context>, ConcurrentMap<String, Tristate>> values =
+                new ConcurrentHashMap<Set<Context>, ConcurrentMap<String, Tristate>>();
+
+        ResolvedPermissions(int generation) {
+            this.generation = generation;
+        }
+
+        ConcurrentMap<String, Tristate> get(Set<Context> contexts) {
+            ConcurrentMap<String, Tristate> contextValues = this.values.get(contexts);
+            if (contextValues == null) {
+                contextValues = new ConcurrentHashMap<String, Tristate>();
+                ConcurrentMap<String, Tristate> existing = this.values.putIfAbsent(contexts, contextValues);
+                if (existing != null) {
+                    contextValues = existing;
+                }
+            }
+            return contextValues;
+        }
+    }
+
+    private static final class ActiveContexts {
+        final int tick;
+        final Set<Context> contexts;
+
+        ActiveContexts(int tick, Set<Context> contexts) {
+            this.tick = tick;
+            this.contexts = contexts;
+        }
     }
 }
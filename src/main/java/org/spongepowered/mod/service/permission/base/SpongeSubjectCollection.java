@@ -24,6 +24,8 @@
  */
 package org.spongepowered.mod.service.permission.base;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.SubjectCollection;
 import org.spongepowered.api.service.permission.context.Context;
@@ -31,11 +33,15 @@ import org.spongepowered.api.util.Tristate;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 public abstract class SpongeSubjectCollection implements SubjectCollection {
     private final String identifier;
+    private volatile PermissionIndex permissionIndex;
 
     protected SpongeSubjectCollection(String identifier) {
         this.identifier = identifier;
@@ -49,7 +55,7 @@ public abstract class SpongeSubjectCollection implements SubjectCollection {
     @Override
     public Map<Subject, Boolean> getAllWithPermission(String permission) {
         final Map<Subject, Boolean> ret = new HashMap<Subject, Boolean>();
-        for (Subject subj : getAllSubjects()) {
+        for (Subject subj : getPermissionCandidates(permission)) {
             Tristate state = subj.getPermissionValue(subj.getActiveContexts(), permission);
             if (state != Tristate.UNDEFINED) {
                 ret.put(subj, state.asBoolean());
@@ -61,7 +67,7 @@ public abstract class SpongeSubjectCollection implements SubjectCollection {
     @Override
     public Map<Subject, Boolean> getAllWithPermission(Set<Context> contexts, String permission) {
         final Map<Subject, Boolean> ret = new HashMap<Subject, Boolean>();
-        for (Subject subj : getAllSubjects()) {
+        for (Subject subj : getPermissionCandidates(permission)) {
             Tristate state = subj.getPermissionValue(contexts, permission);
             if (state != Tristate.UNDEFINED) {
                 ret.put(subj, state.asBoolean());
@@ -69,4 +75,75 @@ public abstract class SpongeSubjectCollection implements SubjectCollection {
         }
         return Collections.unmodifiableMap(ret);
     }
+
+    /**
+     * Gets the subjects that may have a value for a permission without
+     * defining it or one of its parent nodes in their own data, e.g. through
+     * parents or defaults.
+     *
+     * <p>If that may be true of every subject, an index of the permissions
+     * subjects define would not narrow anything down, so none is built and
+     * all subjects are checked.</p>
+     *
+     * @param permission The permission being checked
+     * @return The subjects to always check, or null to check all subjects
+     */
+    @Nullable
+    protected Iterable<Subject> getImplicitPermissionSubjects(String permission) {
+        return null;
+    }
+
+    private Iterable<Subject> getPermissionCandidates(String permission) {
+        Iterable<Subject> implicit = getImplicitPermissionSubjects(permission);
+        if (implicit == null) {
+            return getAllSubjects();
+        }
+
+        int generation = GlobalMemorySubjectData.getGeneration();
+        PermissionIndex index = this.permissionIndex;
+        if (index == null || index.generation != generation) {
+            index = new PermissionIndex(generation, getAllSubjects());
+            this.permissionIndex = index;
+        }
+
+        Set<Subject> candidates = new LinkedHashSet<Subject>();
+        // A node also applies to everything below it
+        String node = permission.toLowerCase();
+        while (true) {
+            candidates.addAll(index.subjects.get(node));
+            int end = node.lastIndexOf('.');
+            if (end < 0) {
+                break;
+            }
+            node = node.substring(0, end);
+        }
+        for (Subject subject : implicit) {
+            candidates.add(subject);
+        }
+        return candidates;
+    }
+
+    /**
+     * The subjects of this collection that define each permission node in
+     * their own data, rebuilt whenever any subject data changes.
+     */
+    private static final class PermissionIndex {
+        final int generation;
+        final ListMultimap<String, Subject> subjects = ArrayListMultimap.create();
+
+        PermissionIndex(int generation, Iterable<Subject> allSubjects) {
+            this.generation = generation;
+            for (Subject subject : allSubjects) {
+                Set<String> nodes = new LinkedHashSet<String>();
+                for (Map<String, Boolean> permissions : subject.getData().getAllPermissions().values()) {
+                    for (String node : permissions.keySet()) {
+                        nodes.add(node.toLowerCase());
+                    }
+                }
+                for (String node : nodes) {
+                    this.subjects.put(node, subject);
+                }
+            }
+        }
+    }
 }
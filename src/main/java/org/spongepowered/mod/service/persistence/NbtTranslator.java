@@ -50,17 +50,41 @@ import org.spongepowered.api.data.MemoryDataContainer;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public final class NbtTranslator implements DataTranslator<NBTTagCompound> {
 
     private static final NbtTranslator instance = new NbtTranslator();
 
+    // NBT uses the same few keys over and over, so parsed queries are kept
+    // around instead of splitting every key again. Bounded in case a mod
+    // stores something like UUIDs as keys.
+    private static final int MAX_CACHED_QUERIES = 4096;
+    private static final ConcurrentMap<String, DataQuery> queryCache = new ConcurrentHashMap<String, DataQuery>();
+
     public static NbtTranslator getInstance() {
         return instance;
     }
 
     private NbtTranslator() { } // #NOPE
 
+    private static DataQuery getQuery(String key) {
+        DataQuery query = queryCache.get(key);
+        if (query == null) {
+            query = of('.', key);
+            if (queryCache.size() < MAX_CACHED_QUERIES) {
+                queryCache.put(key, query);
+            }
+        }
+        return query;
+    }
+
+    private static String getKey(DataQuery query) {
+        List<String> parts = query.getParts();
+        return parts.size() == 1 ? parts.get(0) : query.asString('.');
+    }
+
     private static NBTTagCompound containerToCompound(final DataView container) {
         NBTTagCompound compound = new NBTTagCompound();
         containerToCompound(container, compound);
@@ -68,14 +92,17 @@ public final class NbtTranslator implements DataTranslator<NBTTagCompound> {
     }
 
     private static void containerToCompound(final DataView container, final NBTTagCompound compound) {
-        // We don't need to get deep values since all nested DataViews will be found
-        // from the instance of checks.
-        for (Map.Entry<DataQuery, Object> entry : container.getValues(false).entrySet()) {
-            Object value = entry.getValue();
-            String key = entry.getKey().asString('.');
+        // Only the direct children are visited, nested views are walked by
+        // recursion instead of being flattened into a map first.
+        for (DataQuery query : container.getKeys(false)) {
+            Object value = container.get(query).orNull();
+            if (value == null) {
+                continue;
+            }
+            String key = getKey(query);
             if (value instanceof DataView) {
                 NBTTagCompound inner = new NBTTagCompound();
-                containerToCompound(container.getView(entry.getKey()).get(), inner);
+                containerToCompound((DataView) value, inner);
                 compound.setTag(key, inner);
             } else {
                 compound.setTag(key, getBaseFromObject(value));
@@ -85,20 +112,25 @@ public final class NbtTranslator implements DataTranslator<NBTTagCompound> {
 
     @SuppressWarnings("unchecked")
     private static NBTBase getBaseFromObject(Object value) {
-        if (value instanceof Byte) {
+        if (value instanceof Integer) {
+            return new NBTTagInt((Integer) value);
+        } else if (value instanceof String) {
+            return new NBTTagString((String) value);
+        } else if (value instanceof Double) {
+            return new NBTTagDouble((Double) value);
+        } else if (value instanceof Byte) {
             return new NBTTagByte((Byte) value);
         } else if (value instanceof Short) {
             return new NBTTagShort((Short) value);
-        } else if (value instanceof Integer) {
-            return new NBTTagInt((Integer) value);
         } else if (value instanceof Long) {
             return new NBTTagLong((Long) value);
         } else if (value instanceof Float) {
             return new NBTTagFloat((Float) value);
-        } else if (value instanceof Double) {
-            return new NBTTagDouble((Double) value);
-        } else if (value instanceof String) {
-            return new NBTTagString((String) value);
+        } else if (value instanceof byte[]) {
+            // Shared like the arrays handed out by translateFrom
+            return new NBTTagByteArray((byte[]) value);
+        } else if (value instanceof int[]) {
+            return new NBTTagIntArray((int[]) value);
         } else if (value instanceof Byte[]) {
             byte[] array = new byte[((Byte[]) value).length];
             int counter = 0;
@@ -121,110 +153,83 @@ public final class NbtTranslator implements DataTranslator<NBTTagCompound> {
                 list.appendTag(getBaseFromObject(object));
             }
             return list;
+        } else if (value instanceof DataView) {
+            return containerToCompound((DataView) value);
         } else if (value instanceof Map) {
             NBTTagCompound compound = new NBTTagCompound();
             for (Map.Entry<DataQuery, Object> entry : ((Map<DataQuery, Object>) value).entrySet()) {
-                compound.setTag(entry.getKey().asString('.'), getBaseFromObject(entry.getValue()));
+                compound.setTag(getKey(entry.getKey()), getBaseFromObject(entry.getValue()));
             }
             return compound;
         } else if (value instanceof DataSerializable) {
             return containerToCompound(((DataSerializable) value).toContainer());
-        } else if (value instanceof DataView) {
-            return containerToCompound((DataView) value);
         }
         throw new IllegalArgumentException("Unable to translate object to NBTBase!");
     }
 
-    @SuppressWarnings("unchecked")
     private static DataContainer getViewFromCompound(NBTTagCompound compound) {
         DataContainer container = new MemoryDataContainer();
+        compoundToView(compound, container);
+        return container;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void compoundToView(NBTTagCompound compound, DataView view) {
         for (String key : (Set<String>) compound.getKeySet()) {
             NBTBase base = compound.getTag(key);
-            byte type = base.getId();
-            setInternal(base, type, container, key); // gotta love recursion
+            setInternal(base, base.getId(), view, key); // gotta love recursion
         }
-        return container;
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     private static void setInternal(NBTBase base, byte type, DataView view, String key) {
-        if (type == 1) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getByte());
-        } else if (type == 2) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getShort());
-        } else if (type == 3) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getInt());
-        } else if (type == 4) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getLong());
-        } else if (type == 5) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getFloat());
-        } else if (type == 6) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getDouble());
-        } else if (type == 7) {
-            view.set(of('.', key), ((NBTTagByteArray) base).getByteArray());
-        } else if (type == 8) {
-            view.set(of('.', key), ((NBTTagString) base).getString());
-        } else if (type == 9) {
-            NBTTagList list = (NBTTagList) base;
-            byte listType = (byte) list.getTagType();
-            int count = list.tagCount();
-            List objectList = Lists.newArrayListWithCapacity(count);
-            for (int i = 0; i < count; i++) {
-                objectList.add(fromTagBase(list.get(i), listType));
-            }
-            view.set(of('.', key), objectList);
-        } else if (type == 10) {
-            DataView internalView = view.createView(of('.', key));
-            NBTTagCompound compound = (NBTTagCompound) base;
-            for (String internalKey : (Set<String>) compound.getKeySet()) {
-                NBTBase internalBase = compound.getTag(internalKey);
-                byte internalType = internalBase.getId();
-                // Basically.... more recursion.
-                // Reasoning: This avoids creating a new DataContainer which would
-                // then be copied in to the owning DataView anyways. We can internally
-                // set the actual data directly to the child view instead.
-                setInternal(internalBase, internalType, internalView, internalKey);
+        if (type == 10) {
+            // Basically.... more recursion.
+            // Reasoning: This avoids creating a new DataContainer which would
+            // then be copied in to the owning DataView anyways. We can internally
+            // set the actual data directly to the child view instead.
+            compoundToView((NBTTagCompound) base, view.createView(getQuery(key)));
+        } else {
+            Object value = fromTagBase(base, type);
+            if (value != null) {
+                view.set(getQuery(key), value);
             }
-        } else if (type == 11) {
-            view.set(of('.', key), ((NBTTagIntArray) base).getIntArray());
         }
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     private static Object fromTagBase(NBTBase base, byte type) {
-        if (type == 0) {
-            return null;
-        } else if (type == 1) {
-            return ((NBTBase.NBTPrimitive) base).getByte();
-        } else if (type == 2) {
-            return ((NBTBase.NBTPrimitive) base).getShort();
-        } else if (type == 3) {
-            return ((NBTBase.NBTPrimitive) base).getInt();
-        } else if (type == 4) {
-            return ((NBTBase.NBTPrimitive) base).getLong();
-        } else if (type == 5) {
-            return ((NBTBase.NBTPrimitive) base).getFloat();
-        } else if (type == 6) {
-            return ((NBTBase.NBTPrimitive) base).getDouble();
-        } else if (type == 7) {
-            return ((NBTTagByteArray) base).getByteArray();
-        } else if (type == 8) {
-            return ((NBTTagString) base).getString();
-        } else if (type == 9) {
-            NBTTagList list = (NBTTagList) base;
-            byte listType = (byte) list.getTagType();
-            int count = list.tagCount();
-            List objectList = Lists.newArrayListWithCapacity(count);
-            for (int i = 0; i < list.tagCount(); i++) {
-                objectList.add(fromTagBase(list.get(i), listType));
-            }
-            return objectList;
-        } else if (type == 10) {
-            return getViewFromCompound((NBTTagCompound) base);
-        } else if (type == 11) {
-            return ((NBTTagIntArray) base).getIntArray();
-        } else {
-            return null;
+        switch (type) {
+            case 1:
+                return ((NBTBase.NBTPrimitive) base).getByte();
+            case 2:
+                return ((NBTBase.NBTPrimitive) base).getShort();
+            case 3:
+                return ((NBTBase.NBTPrimitive) base).getInt();
+            case 4:
+                return ((NBTBase.NBTPrimitive) base).getLong();
+            case 5:
+                return ((NBTBase.NBTPrimitive) base).getFloat();
+            case 6:
+                return ((NBTBase.NBTPrimitive) base).getDouble();
+            case 7:
+                return ((NBTTagByteArray) base).getByteArray();
+            case 8:
+                return ((NBTTagString) base).getString();
+            case 9:
+                NBTTagList list = (NBTTagList) base;
+                byte listType = (byte) list.getTagType();
+                int count = list.tagCount();
+                List objectList = Lists.newArrayListWithCapacity(count);
+                for (int i = 0; i < count; i++) {
+                    objectList.add(fromTagBase(list.get(i), listType));
+                }
+                return objectList;
+            case 10:
+                return getViewFromCompound((NBTTagCompound) base);
+            case 11:
+                return ((NBTTagIntArray) base).getIntArray();
+            default:
+                return null;
         }
     }
 
@@ -25,20 +25,19 @@
 package org.spongepowered.mod.service.scheduler;
 
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.spongepowered.api.service.scheduler.AsynchronousScheduler;
 import org.spongepowered.api.service.scheduler.Task;
 import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.mixin.plugin.CoreMixinPlugin;
 
 import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * <p>
@@ -98,35 +97,46 @@ public class AsyncScheduler implements AsynchronousScheduler {
 
     // The simple private map of all pending (and running) ScheduledTasks
     private final Map<UUID, ScheduledTask> taskMap = new ConcurrentHashMap<UUID, ScheduledTask>();
-    // Adjustable timeout for pending Tasks
-    private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
-    // Locking mechanism
-    private final Lock lock = new ReentrantLock();
-    private final Condition condition = this.lock.newCondition();
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private ExecutorService executor;
+    // The pending executions of all tasks, ordered by the time they are due.
+    private final ExecutionQueue queue = new ExecutionQueue();
+    // The bounded thread pool executing the bodies of asynchronous tasks.
+    private final ThreadPoolExecutor executor;
     // Query actor for task information
     private SchedulerHelper schedulerHelper;
 
     private AsyncScheduler() {
         this.schedulerHelper = new SchedulerHelper(ScheduledTask.TaskSynchroncity.ASYNCHRONOUS);
 
-        new Thread(new Runnable() {
+        int poolSize = CoreMixinPlugin.getGlobalConfig().getConfig().getScheduler().getAsyncPoolSize();
+        if (poolSize <= 0) {
+            poolSize = Runtime.getRuntime().availableProcessors();
+        }
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactoryBuilder().setNameFormat("Sponge Async Scheduler Thread #%d").setDaemon(true).build());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        Thread dispatcher = new Thread(new Runnable() {
 
             @Override
             public void run() {
                 stateMachineBody();
             }
-        }).start();
+        }, "Sponge Async Scheduler");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
     }
 
     private void stateMachineBody() {
-        this.executor = Executors.newCachedThreadPool();
-        this.lastProcessingTimestamp = System.currentTimeMillis();
+        // The queue only hands out executions which are due, so there is
+        // nothing to scan and no timeout to calibrate: just wait for the next one.
         while (true) {
-            recalibrateMinimumTimeout();
-            processTasks();
+            PendingExecution execution;
+            try {
+                execution = this.queue.take();
+            } catch (InterruptedException e) {
+                continue;
+            }
+            processExecution(execution);
         }
     }
 
@@ -156,134 +166,56 @@ public class AsyncScheduler implements AsynchronousScheduler {
         return AsynchronousSchedulerSingletonHolder.INSTANCE;
     }
 
-    private void recalibrateMinimumTimeout() {
-        this.lock.lock();
-        try {
-            for (ScheduledTask task : this.taskMap.values()) {
-                // Tasks may have dropped off the list.
-                // Whatever Tasks remain, recalibrate:
-                //
-                // Recalibrate the wait delay for processing tasks before new tasks
-                // cause the scheduler to process pending tasks.
-                this.minimumTimeout = Long.MAX_VALUE;
-                if (task.offset == 0 && task.period == 0) {
-                    this.minimumTimeout = 0;
-                } else if (task.offset > 0 && task.period == 0) {
-                    // task with non-zero offset, zero period
-                    this.minimumTimeout = Math.min(task.offset, this.minimumTimeout);
-                } else if (task.offset == 0 && task.period > 0) {
-                    // task with zero offset, non-zero period
-                    this.minimumTimeout = Math.min(task.period, this.minimumTimeout);
-                } else if (task.offset > 0 && task.period > 0) {
-                    // task with non-zero offset, non-zero period
-                    this.minimumTimeout = Math.min(task.offset, this.minimumTimeout);
-                    this.minimumTimeout = Math.min(task.period, this.minimumTimeout);
-                }
-            }
+    private void processExecution(PendingExecution execution) {
+        ScheduledTask task = execution.task;
 
-            // If no tasks remain, recalibrate to max timeout
-            if (this.taskMap.isEmpty()) {
-                this.minimumTimeout = Long.MAX_VALUE;
-            } else {
-                long latency = System.currentTimeMillis() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
-            }
-        } finally {
-            this.lock.unlock();
+        // If the task is now slated to be canceled, we just remove it as if it no longer exists.
+        if (task.state == ScheduledTask.ScheduledTaskState.CANCELED) {
+            this.taskMap.remove(task.getUniqueId());
+            return;
         }
-    }
 
-    private void processTasks() {
-        this.lock.lock();
-        try {
-            try {
-                this.condition.await(this.minimumTimeout, TimeUnit.MILLISECONDS);
-            } catch (InterruptedException e) {
-                // The taskMap has been modified; there is work to do.
-                // Continue on without handling the Exception.
-            } catch (IllegalMonitorStateException e) {
-                SpongeMod.instance.getLogger().error(SchedulerLogMessages.CATASTROPHIC_ERROR_IN_SCHEDULER_SEEK_HELP);
-                SpongeMod.instance.getLogger().error(e.toString());
+        long dueNanos = execution.dueNanos;
+        if (task.period > 0L) {
+            // Repeating tasks are due one period after they were last due rather than
+            // after they last ran, so the schedule does not drift. If the scheduler fell
+            // behind by more than a period, skip the missed executions instead of
+            // running them back to back.
+            long period = TimeUnit.MILLISECONDS.toNanos(task.period);
+            long now = System.nanoTime();
+            execution.dueNanos += period;
+            if (now - execution.dueNanos > period) {
+                execution.dueNanos = now;
             }
+            this.queue.offer(execution);
+        }
 
-            // We've locked down the taskMap but the lock is short lived if the size of the
-            // size of the list is zero.
-            //
-            // For each task, inspect the state.
-            //
-            // For the state of CANCELED, remove it and look at the next task, if any.
-            //
-            // For the state of WAITING, the task has not begun, so check the
-            // offset time before starting that task for the first time.
-            //
-            // Else if the task is already RUNNING, use the period (the time delay until
-            // the next moment to run the task).
-            //
-            for (ScheduledTask task : this.taskMap.values()) {
-                // If the task is now slated to be canceled, we just remove it as if it no longer exists.
-                if (task.state == ScheduledTask.ScheduledTaskState.CANCELED) {
-                    this.taskMap.remove(task.getUniqueId());
-                    continue;
-                }
-
-                long threshold = Long.MAX_VALUE;
-
-                // Figure out if we start a delayed Task after threshold milliseconds or,
-                // start it after the interval (period) of the repeating task parameter.
-                if (task.state == ScheduledTask.ScheduledTaskState.WAITING) {
-                    threshold = task.offset;
-                } else if (task.state == ScheduledTask.ScheduledTaskState.RUNNING) {
-                    threshold = task.period;
-                }
+        // The Scheduler will not allow a second occurrence of a task to start
+        // while the preceding occurrence is still running.
+        if (!execution.running.compareAndSet(false, true)) {
+            this.schedulerHelper.recordOverlap(task);
+            return;
+        }
 
-                // This moment is 'now'
-                long now = System.currentTimeMillis();
-
-                // So, if the current time minus the timestamp of the task is greater than
-                // the delay to wait before starting the task, then start the task.
-
-                // Repeating tasks get a reset-timestamp each time they are set RUNNING
-                // If the task has a period of 0 (zero) this task will not repeat, and is removed
-                // after we start it.
-
-                if (threshold <= (now - task.timestamp)) {
-                    // startTask is just a utility function within the Scheduler that
-                    // starts the task.
-                    // If the task is not a one time shot then keep it and
-                    // change the timestamp to now.  It is a little more
-                    // efficient to do this now than after starting the task.
-                    task.timestamp = System.currentTimeMillis();
-                    boolean bTaskStarted = startTask(task);
-                    if (bTaskStarted) {
-                        task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
-                        // If task is one time shot, remove it from the list.
-                        if (task.period == 0L) {
-                            this.taskMap.remove(task.getUniqueId());
-                        }
-                    }
-                }
+        task.timestamp = System.currentTimeMillis();
+        if (startTask(execution, dueNanos)) {
+            task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+            // If task is one time shot, remove it from the map.
+            if (task.period == 0L) {
+                this.taskMap.remove(task.getUniqueId());
             }
-            this.lastProcessingTimestamp = System.currentTimeMillis();
-        } finally {
-            this.lock.unlock();
+        } else {
+            execution.running.set(false);
         }
     }
 
     private Optional<Task> utilityForAddingAsyncTask(ScheduledTask task) {
-        Optional<Task> resultTask = Optional.absent();
-
         task.setTimestamp(System.currentTimeMillis());
-        this.lock.lock();
-        try {
-            this.taskMap.put(task.getUniqueId(), task);
-            this.condition.signalAll();
-            resultTask = Optional.of((Task) task);
-        } finally {
-            this.lock.unlock();
-        }
-
-        return resultTask;
+        PendingExecution execution = new PendingExecution(this, task, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(task.offset));
+        task.execution = execution;
+        this.taskMap.put(task.getUniqueId(), task);
+        this.queue.offer(execution);
+        return Optional.of((Task) task);
     }
 
     /**
@@ -637,6 +569,17 @@ public class AsyncScheduler implements AsynchronousScheduler {
         return resultTask;
     }
 
+    /**
+     * <p>
+     * Gets the helper holding the task metrics of this scheduler.
+     * </p>
+     *
+     * @return The scheduler helper
+     */
+    public SchedulerHelper getSchedulerHelper() {
+        return this.schedulerHelper;
+    }
+
     /**
      *
      * <p>
@@ -696,12 +639,31 @@ public class AsyncScheduler implements AsynchronousScheduler {
         return this.schedulerHelper.getScheduledTasks(this.taskMap, plugin);
     }
 
-    private boolean startTask(ScheduledTask task) {
+    void removeExecution(PendingExecution execution) {
+        this.queue.remove(execution);
+        this.taskMap.remove(execution.task.getUniqueId());
+    }
+
+    private boolean startTask(final PendingExecution execution, final long dueNanos) {
         // We'll succeed unless there's an exception found when we try to start the
         // actual Runnable target.
         boolean bRes = true;
         try {
-            this.executor.submit(task.runnableBody);
+            this.executor.execute(new Runnable() {
+
+                @Override
+                public void run() {
+                    long start = System.nanoTime();
+                    try {
+                        execution.task.runnableBody.run();
+                    } catch (Throwable t) {
+                        SpongeMod.instance.getLogger().error(SchedulerLogMessages.USER_TASK_FAILED_TO_RUN_ERROR, t);
+                    } finally {
+                        AsyncScheduler.this.schedulerHelper.recordRun(execution.task, System.nanoTime() - start, start - dueNanos);
+                        execution.running.set(false);
+                    }
+                }
+            });
         } catch (Exception ex) {
             SpongeMod.instance.getLogger().error(SchedulerLogMessages.USER_TASK_FAILED_TO_RUN_ERROR);
             SpongeMod.instance.getLogger().error(ex.toString());
@@ -710,4 +672,5 @@ public class AsyncScheduler implements AsynchronousScheduler {
         }
         return bRes;
     }
+
 }
@@ -0,0 +1,181 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.scheduler;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The pending executions of asynchronous tasks, ordered by the time they are
+ * due.
+ *
+ * <p>
+ * A binary heap in which every execution knows its own position, so a
+ * canceled task is taken out in O(log n) rather than being kept until it
+ * comes due, as it would be in a {@link java.util.concurrent.DelayQueue}.
+ * </p>
+ */
+final class ExecutionQueue {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = this.lock.newCondition();
+    private PendingExecution[] heap = new PendingExecution[64];
+    private int size;
+
+    /**
+     * Adds an execution, unless its task has been canceled.
+     *
+     * @param execution The execution
+     * @return Whether the execution was added
+     */
+    boolean offer(PendingExecution execution) {
+        this.lock.lock();
+        try {
+            // Checked under the lock, a concurrent cancel either sees the
+            // execution queued or has already marked the task canceled
+            if (execution.task.state == ScheduledTask.ScheduledTaskState.CANCELED) {
+                return false;
+            }
+            if (this.size == this.heap.length) {
+                this.heap = Arrays.copyOf(this.heap, this.size * 2);
+            }
+            siftUp(this.size++, execution);
+            if (this.heap[0] == execution) {
+                this.available.signal();
+            }
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes an execution if it is queued.
+     *
+     * @param execution The execution
+     * @return Whether the execution was queued
+     */
+    boolean remove(PendingExecution execution) {
+        this.lock.lock();
+        try {
+            int i = execution.index;
+            if (i < 0 || i >= this.size || this.heap[i] != execution) {
+                return false;
+            }
+            removeAt(i);
+            if (i == 0) {
+                // The head changed, let the dispatcher recalculate its wait
+                this.available.signal();
+            }
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the first execution to become due and removes it.
+     *
+     * @return The execution
+     * @throws InterruptedException If interrupted while waiting
+     */
+    PendingExecution take() throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            while (true) {
+                if (this.size == 0) {
+                    this.available.await();
+                    continue;
+                }
+                PendingExecution first = this.heap[0];
+                long delay = first.dueNanos - System.nanoTime();
+                if (delay <= 0) {
+                    removeAt(0);
+                    return first;
+                }
+                this.available.awaitNanos(delay);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void removeAt(int i) {
+        this.heap[i].index = -1;
+        int last = --this.size;
+        PendingExecution moved = this.heap[last];
+        this.heap[last] = null;
+        if (i != last) {
+            siftDown(i, moved);
+            if (this.heap[i] == moved) {
+                siftUp(i, moved);
+            }
+        }
+    }
+
+    private void siftUp(int i, PendingExecution execution) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            PendingExecution e = this.heap[parent];
+            if (compare(execution, e) >= 0) {
+                break;
+            }
+            this.heap[i] = e;
+            e.index = i;
+            i = parent;
+        }
+        this.heap[i] = execution;
+        execution.index = i;
+    }
+
+    private void siftDown(int i, PendingExecution execution) {
+        int half = this.size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            PendingExecution c = this.heap[child];
+            int right = child + 1;
+            if (right < this.size && compare(c, this.heap[right]) > 0) {
+                child = right;
+                c = this.heap[child];
+            }
+            if (compare(execution, c) <= 0) {
+                break;
+            }
+            this.heap[i] = c;
+            c.index = i;
+            i = child;
+        }
+        this.heap[i] = execution;
+        execution.index = i;
+    }
+
+    private static int compare(PendingExecution a, PendingExecution b) {
+        // Compare the difference to be safe against nanoTime overflow
+        long diff = a.dueNanos - b.dueNanos;
+        return diff < 0 ? -1 : (diff > 0 ? 1 : 0);
+    }
+
+}
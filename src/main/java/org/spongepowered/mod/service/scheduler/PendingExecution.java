@@ -0,0 +1,58 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.scheduler;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A pending execution of an asynchronous task, ordered by the time it is
+ * due.
+ *
+ * <p>
+ * Repeating tasks reuse the same instance for all their executions, which
+ * is re-queued with an updated due time each time it fires.
+ * </p>
+ */
+final class PendingExecution {
+
+    final AsyncScheduler scheduler;
+    final ScheduledTask task;
+    final AtomicBoolean running = new AtomicBoolean();
+    // Only modified by the dispatcher thread while not queued
+    long dueNanos;
+    // The position in the ExecutionQueue, -1 while not queued. Guarded by the queue lock
+    int index = -1;
+
+    PendingExecution(AsyncScheduler scheduler, ScheduledTask task, long dueNanos) {
+        this.scheduler = scheduler;
+        this.task = task;
+        this.dueNanos = dueNanos;
+    }
+
+    void cancel() {
+        this.scheduler.removeExecution(this);
+    }
+
+}
@@ -43,10 +43,15 @@ public class ScheduledTask implements Task {
     protected PluginContainer owner;
     protected Runnable runnableBody;
     protected long timestamp;
+    // The tick this task is next due at, only used by the SyncScheduler.
+    protected long dueTick;
+    // The pending execution of this task, only used by the AsyncScheduler.
+    protected PendingExecution execution;
     protected ScheduledTaskState state;
     protected UUID id;
     protected String name;
     protected TaskSynchroncity syncType;
+    protected final TaskMetrics metrics = new TaskMetrics();
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
@@ -156,7 +161,15 @@ public class ScheduledTask implements Task {
             bResult = true;
         }
 
+        boolean wasCanceled = this.state == ScheduledTask.ScheduledTaskState.CANCELED;
         this.state = ScheduledTask.ScheduledTaskState.CANCELED;
+        if (this.execution != null) {
+            // Asynchronous tasks are dequeued right away rather than when they come due
+            this.execution.cancel();
+        } else if (this.syncType == TaskSynchroncity.SYNCHRONOUS && !wasCanceled) {
+            // Synchronous tasks leave the tick wheel on the next tick
+            ((SyncScheduler) SyncScheduler.getInstance()).removeTask(this);
+        }
 
         return bResult;
     }
@@ -190,6 +203,17 @@ public class ScheduledTask implements Task {
         return this.syncType == TaskSynchroncity.SYNCHRONOUS;
     }
 
+    /**
+     * <p>
+     * Gets the execution metrics of this task.
+     * </p>
+     *
+     * @return The metrics
+     */
+    public TaskMetrics getMetrics() {
+        return this.metrics;
+    }
+
     @Override
     public String setName(String name) {
 
@@ -31,9 +31,15 @@ import org.spongepowered.mod.SpongeMod;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -41,6 +47,8 @@ public class SchedulerHelper {
 
     private long sequenceNumber = 0L;
     private ScheduledTask.TaskSynchroncity syncType;
+    // Metrics of all tasks ever run by this scheduler, aggregated by plugin id.
+    private final ConcurrentMap<String, TaskMetrics> pluginMetrics = new ConcurrentHashMap<String, TaskMetrics>();
 
     @SuppressWarnings("unused")
     private SchedulerHelper() {
@@ -224,6 +232,85 @@ public class SchedulerHelper {
         return subsetCollection;
     }
 
+    /**
+     * <p>
+     * Records a finished run of a task in its own metrics and those of its
+     * plugin.
+     * </p>
+     *
+     * @param task The task that ran
+     * @param nanos The time the task took to run
+     * @param latenessNanos The time between the task being due and starting
+     */
+    protected void recordRun(ScheduledTask task, long nanos, long latenessNanos) {
+        task.metrics.recordRun(nanos, latenessNanos);
+        getPluginMetrics(task.owner).recordRun(nanos, latenessNanos);
+    }
+
+    /**
+     * <p>
+     * Records that a repeating task was due while its previous occurrence
+     * was still running.
+     * </p>
+     *
+     * @param task The task that overlapped
+     */
+    protected void recordOverlap(ScheduledTask task) {
+        task.metrics.recordOverlap();
+        getPluginMetrics(task.owner).recordOverlap();
+    }
+
+    private TaskMetrics getPluginMetrics(PluginContainer plugin) {
+        String pluginId = plugin == null || plugin.getId() == null ? "unknown" : plugin.getId();
+        TaskMetrics metrics = this.pluginMetrics.get(pluginId);
+        if (metrics == null) {
+            metrics = new TaskMetrics();
+            TaskMetrics existing = this.pluginMetrics.putIfAbsent(pluginId, metrics);
+            if (existing != null) {
+                metrics = existing;
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * <p>
+     * Gets the metrics of all tasks run by this scheduler, aggregated by the
+     * id of the owning plugin and sorted by descending total run time.
+     * </p>
+     *
+     * @return The metrics by plugin id
+     */
+    public Map<String, TaskMetrics> getMetricsByPlugin() {
+        List<Map.Entry<String, TaskMetrics>> entries = new ArrayList<Map.Entry<String, TaskMetrics>>(this.pluginMetrics.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<String, TaskMetrics>>() {
+
+            @Override
+            public int compare(Map.Entry<String, TaskMetrics> o1, Map.Entry<String, TaskMetrics> o2) {
+                long t1 = o1.getValue().getTotalNanos();
+                long t2 = o2.getValue().getTotalNanos();
+                return t1 < t2 ? 1 : (t1 == t2 ? 0 : -1);
+            }
+        });
+
+        Map<String, TaskMetrics> result = new LinkedHashMap<String, TaskMetrics>();
+        for (Map.Entry<String, TaskMetrics> entry : entries) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * <p>
+     * Resets the metrics aggregated by plugin.
+     * </p>
+     */
+    public void resetMetrics() {
+        for (TaskMetrics metrics : this.pluginMetrics.values()) {
+            metrics.reset();
+        }
+    }
+
     protected ScheduledTask taskValidationStep(Object plugin, Runnable runnableTarget, long offset, long period) {
 
         // No owner
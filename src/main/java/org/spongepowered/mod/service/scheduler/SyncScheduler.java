@@ -30,11 +30,18 @@ import net.minecraftforge.fml.common.gameevent.TickEvent;
 import org.spongepowered.api.service.scheduler.SynchronousScheduler;
 import org.spongepowered.api.service.scheduler.Task;
 import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.mixin.plugin.CoreMixinPlugin;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <p>
@@ -45,8 +52,25 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class SyncScheduler implements SynchronousScheduler {
 
+    // The number of buckets in the tick wheel, must be a power of two.
+    private static final int WHEEL_SIZE = 256;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    // The nominal length of a tick, used to express lateness in time.
+    private static final long NANOS_PER_TICK = TimeUnit.MILLISECONDS.toNanos(50);
+
     // The simple queue of all pending (and running) ScheduledTasks
     private final Map<UUID, ScheduledTask> taskMap = new ConcurrentHashMap<UUID, ScheduledTask>();
+    // Tasks added since the last tick, possibly from other threads.
+    private final Queue<ScheduledTask> addedTasks = new ConcurrentLinkedQueue<ScheduledTask>();
+    // Tasks canceled since the last tick, possibly from other threads, still to be taken out of the wheel.
+    private final Queue<ScheduledTask> canceledTasks = new ConcurrentLinkedQueue<ScheduledTask>();
+    // The tick wheel: tasks are kept in the bucket of the tick they are due at, so a tick
+    // only looks at the tasks of its own bucket. Tasks due more than WHEEL_SIZE ticks
+    // ahead stay in their bucket and are skipped until their round comes.
+    // Only accessed from the server thread.
+    private final List<List<ScheduledTask>> wheel = new ArrayList<List<ScheduledTask>>(WHEEL_SIZE);
+    // Due tasks which did not fit into the budget of the previous tick.
+    private List<ScheduledTask> deferredTasks = new ArrayList<ScheduledTask>();
     // The internal counter of the number of Ticks elapsed since this Scheduler was listening for
     // ServerTickEvent from Forge.
     private volatile long counter = 0L;
@@ -73,6 +97,20 @@ public class SyncScheduler implements SynchronousScheduler {
      */
     private SyncScheduler() {
         this.schedulerHelper = new SchedulerHelper(ScheduledTask.TaskSynchroncity.SYNCHRONOUS);
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.wheel.add(new ArrayList<ScheduledTask>());
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the helper holding the task metrics of this scheduler.
+     * </p>
+     *
+     * @return The scheduler helper
+     */
+    public SchedulerHelper getSchedulerHelper() {
+        return this.schedulerHelper;
     }
 
     @Override
@@ -163,61 +201,90 @@ public class SyncScheduler implements SynchronousScheduler {
     }
 
     private void processTasks() {
-        //
-        // For each task, inspect the state.
-        //
-        // For the state of CANCELED, remove it and look at the next task, if any.
-        //
-        // For the state of WAITING, the task has not begun, so check the
-        // offset time before starting that task for the first time.
-        //
-        // Else if the task is already RUNNING, use the period (the time delay until
-        // the next moment to run the task).
-        //
-        for (ScheduledTask task : this.taskMap.values()) {
+        // Tasks added since the last tick are due 'offset' ticks from now.
+        ScheduledTask added;
+        while ((added = this.addedTasks.poll()) != null) {
+            if (added.state != ScheduledTask.ScheduledTaskState.CANCELED) {
+                schedule(added, this.counter + added.offset);
+            }
+        }
+        // Canceled tasks leave the wheel now rather than when they come due.
+        ScheduledTask canceled;
+        while ((canceled = this.canceledTasks.poll()) != null) {
+            this.wheel.get((int) (canceled.dueTick & WHEEL_MASK)).remove(canceled);
+            this.deferredTasks.remove(canceled);
+        }
+
+        // Collect the tasks due this tick. Deferred tasks go first, as they
+        // were already due on the previous tick.
+        List<ScheduledTask> dueTasks = this.deferredTasks;
+        List<ScheduledTask> bucket = this.wheel.get((int) (this.counter & WHEEL_MASK));
+        if (!bucket.isEmpty()) {
+            Iterator<ScheduledTask> it = bucket.iterator();
+            while (it.hasNext()) {
+                ScheduledTask task = it.next();
+                if (task.dueTick <= this.counter) {
+                    dueTasks.add(task);
+                    it.remove();
+                }
+            }
+        }
+        if (dueTasks.isEmpty()) {
+            return;
+        }
+        this.deferredTasks = new ArrayList<ScheduledTask>();
+
+        long budget = TimeUnit.MILLISECONDS.toNanos(CoreMixinPlugin.getGlobalConfig().getConfig().getScheduler().getSyncTickBudget());
+        long start = System.nanoTime();
+        for (ScheduledTask task : dueTasks) {
             // If the task is now slated to be canceled, we just remove it as if it no longer exists.
             if (task.state == ScheduledTask.ScheduledTaskState.CANCELED) {
                 this.taskMap.remove(task.getUniqueId());
                 continue;
             }
 
-            long threshold = Long.MAX_VALUE;
-
-            // Figure out if we start a delayed Task after threshold ticks or,
-            // start it after the interval (period) of the repeating task parameter.
-            if (task.state == ScheduledTask.ScheduledTaskState.WAITING) {
-                threshold = task.offset;
-            } else if (task.state == ScheduledTask.ScheduledTaskState.RUNNING) {
-                threshold = task.period;
+            // Once the budget is used up, push the remaining tasks to the next tick, unless
+            // they were already pushed back once.
+            if (budget > 0 && task.dueTick == this.counter && System.nanoTime() - start > budget) {
+                this.deferredTasks.add(task);
+                continue;
             }
 
-            // This moment is 'now'
-            long now = this.counter;
-
-            // So, if the current time minus the timestamp of the task is greater than
-            // the delay to wait before starting the task, then start the task.
-            // Repeating tasks get a reset-timestamp each time they are set RUNNING
-            // If the task has a period of 0 (zero) this task will not repeat, and is removed
-            // after we start it.
-            if (threshold <= (now - task.timestamp)) {
-                // startTask is just a utility function within the Scheduler that
-                // starts the task.
-                // If the task is not a one time shot then keep it and
-                // change the timestamp to now.  It is a little more
-                // efficient to do this now than after starting the task.
-                task.timestamp = this.counter;
-                boolean bTaskStarted = startTask(task);
-                if (bTaskStarted) {
-                    task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
-                    // If task is one time shot, remove it from the map.
-                    if (task.period == 0L) {
-                        this.taskMap.remove(task.getUniqueId());
-                    }
-                }
+            // startTask is just a utility function within the Scheduler that
+            // starts the task.
+            task.timestamp = this.counter;
+            long taskStart = System.nanoTime();
+            boolean bTaskStarted = startTask(task);
+            long lateness = (this.counter - task.dueTick) * NANOS_PER_TICK + (taskStart - start);
+            this.schedulerHelper.recordRun(task, System.nanoTime() - taskStart, lateness);
+            if (bTaskStarted) {
+                task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+            }
+            if (task.period == 0L) {
+                // If task is one time shot, remove it from the map.
+                this.taskMap.remove(task.getUniqueId());
+            } else {
+                // Repeating tasks are due again one period after they ran.
+                schedule(task, this.counter + task.period);
             }
         }
     }
 
+    void removeTask(ScheduledTask task) {
+        this.taskMap.remove(task.getUniqueId());
+        this.canceledTasks.add(task);
+    }
+
+    private void schedule(ScheduledTask task, long dueTick) {
+        task.dueTick = dueTick;
+        this.wheel.get((int) (dueTick & WHEEL_MASK)).add(task);
+    }
+
+    private Optional<Task> utilityForAddingSyncTask(ScheduledTask task) {
+        this.addedTasks.add(task);
+        return this.schedulerHelper.utilityForAddingTask(this.taskMap, task);
+    }
+
     /**
      * <p>
      * Runs a Task once immediately.
@@ -265,7 +332,7 @@ public class SyncScheduler implements SynchronousScheduler {
         if (nonRepeatingTask == null) {
             SpongeMod.instance.getLogger().warn(SchedulerLogMessages.CANNOT_MAKE_TASK_WARNING);
         } else {
-            resultTask = this.schedulerHelper.utilityForAddingTask(this.taskMap, nonRepeatingTask);
+            resultTask = utilityForAddingSyncTask(nonRepeatingTask);
         }
 
         return resultTask;
@@ -319,7 +386,7 @@ public class SyncScheduler implements SynchronousScheduler {
         if (nonRepeatingTask == null) {
             SpongeMod.instance.getLogger().warn(SchedulerLogMessages.CANNOT_MAKE_TASK_WARNING);
         } else {
-            resultTask = this.schedulerHelper.utilityForAddingTask(this.taskMap, nonRepeatingTask);
+            resultTask = utilityForAddingSyncTask(nonRepeatingTask);
         }
 
         return resultTask;
@@ -389,7 +456,7 @@ public class SyncScheduler implements SynchronousScheduler {
         if (repeatingTask == null) {
             SpongeMod.instance.getLogger().warn(SchedulerLogMessages.CANNOT_MAKE_TASK_WARNING);
         } else {
-            resultTask = this.schedulerHelper.utilityForAddingTask(this.taskMap, repeatingTask);
+            resultTask = utilityForAddingSyncTask(repeatingTask);
         }
 
         return resultTask;
@@ -459,7 +526,7 @@ public class SyncScheduler implements SynchronousScheduler {
         if (repeatingTask == null) {
             SpongeMod.instance.getLogger().warn(SchedulerLogMessages.CANNOT_MAKE_TASK_WARNING);
         } else {
-            resultTask = this.schedulerHelper.utilityForAddingTask(this.taskMap, repeatingTask);
+            resultTask = utilityForAddingSyncTask(repeatingTask);
         }
 
         return resultTask;
@@ -0,0 +1,118 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.scheduler;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * Execution metrics of a single task, or the aggregate of all the tasks of a
+ * plugin in one scheduler.
+ * </p>
+ *
+ * <p>
+ * Lateness is the time between the moment a task was due and the moment it
+ * actually started. For synchronous tasks it includes the whole ticks it was
+ * late by (at 50ms each) plus the time into the tick it started at.
+ * </p>
+ */
+public final class TaskMetrics {
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLong totalLatenessNanos = new AtomicLong();
+    private final AtomicLong maxLatenessNanos = new AtomicLong();
+    private final AtomicLong overlaps = new AtomicLong();
+
+    void recordRun(long nanos, long latenessNanos) {
+        this.runs.incrementAndGet();
+        this.totalNanos.addAndGet(nanos);
+        updateMax(this.maxNanos, nanos);
+        if (latenessNanos > 0) {
+            this.totalLatenessNanos.addAndGet(latenessNanos);
+            updateMax(this.maxLatenessNanos, latenessNanos);
+        }
+    }
+
+    void recordOverlap() {
+        this.overlaps.incrementAndGet();
+    }
+
+    void reset() {
+        this.runs.set(0);
+        this.totalNanos.set(0);
+        this.maxNanos.set(0);
+        this.totalLatenessNanos.set(0);
+        this.maxLatenessNanos.set(0);
+        this.overlaps.set(0);
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+        long current;
+        do {
+            current = max.get();
+        } while (value > current && !max.compareAndSet(current, value));
+    }
+
+    public long getRuns() {
+        return this.runs.get();
+    }
+
+    public long getTotalNanos() {
+        return this.totalNanos.get();
+    }
+
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    public long getAverageNanos() {
+        long runs = getRuns();
+        return runs == 0 ? 0 : getTotalNanos() / runs;
+    }
+
+    public long getAverageLatenessNanos() {
+        long runs = getRuns();
+        return runs == 0 ? 0 : this.totalLatenessNanos.get() / runs;
+    }
+
+    public long getMaxLatenessNanos() {
+        return this.maxLatenessNanos.get();
+    }
+
+    /**
+     * <p>
+     * Gets the number of times a repeating task was due while its previous
+     * occurrence was still running, and was therefore skipped.
+     * </p>
+     *
+     * @return The number of skipped, overlapping occurrences
+     */
+    public long getOverlaps() {
+        return this.overlaps.get();
+    }
+
+}
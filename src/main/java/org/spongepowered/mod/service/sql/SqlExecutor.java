@@ -0,0 +1,210 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.sql;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+/**
+ * Runs statements against a {@link DataSource} on a bounded pool of worker
+ * threads.
+ *
+ * <p>Each datasource handed out by {@link SqlServiceImpl} has at most one
+ * executor, sized to match its connection pool so workers never wait on
+ * each other for a connection. Once the queue is full further submissions
+ * are rejected with a {@link java.util.concurrent.RejectedExecutionException}
+ * rather than blocking the caller, which is usually the server thread.</p>
+ *
+ * <p>Futures complete on the worker thread. Attach callbacks with a
+ * {@link org.spongepowered.mod.service.scheduler.SyncExecutor} to receive
+ * results on the main thread.</p>
+ */
+@NonnullByDefault
+public class SqlExecutor {
+
+    private final DataSource dataSource;
+    private final ListeningExecutorService executor;
+
+    public SqlExecutor(DataSource dataSource, String name, int threads, int queueSize) {
+        checkArgument(threads > 0, "threads must be positive");
+        checkArgument(queueSize > 0, "queueSize must be positive");
+        this.dataSource = checkNotNull(dataSource, "dataSource");
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(queueSize),
+                new ThreadFactoryBuilder().setNameFormat("Sponge SQL " + name.replace("%", "%%") + " #%d").setDaemon(true).build());
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = MoreExecutors.listeningDecorator(pool);
+    }
+
+    public DataSource getDataSource() {
+        return this.dataSource;
+    }
+
+    /**
+     * Runs a query and converts its results with the given handler.
+     *
+     * @param sql The query to prepare
+     * @param handler The handler reading the result set
+     * @param params The parameters to bind, in order
+     * @param <T> The type of result
+     * @return A future completing with the handler's result
+     */
+    public <T> ListenableFuture<T> query(final String sql, final ResultSetHandler<T> handler, final Object... params) {
+        checkNotNull(sql, "sql");
+        checkNotNull(handler, "handler");
+        return this.executor.submit(new Callable<T>() {
+            @Override
+            public T call() throws SQLException {
+                Connection conn = SqlExecutor.this.dataSource.getConnection();
+                try {
+                    PreparedStatement stmt = conn.prepareStatement(sql);
+                    try {
+                        bind(stmt, params);
+                        ResultSet rs = stmt.executeQuery();
+                        try {
+                            return handler.handle(rs);
+                        } finally {
+                            rs.close();
+                        }
+                    } finally {
+                        stmt.close();
+                    }
+                } finally {
+                    conn.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs an insert, update, delete or DDL statement.
+     *
+     * @param sql The statement to prepare
+     * @param params The parameters to bind, in order
+     * @return A future completing with the number of rows affected
+     */
+    public ListenableFuture<Integer> update(final String sql, final Object... params) {
+        checkNotNull(sql, "sql");
+        return this.executor.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() throws SQLException {
+                Connection conn = SqlExecutor.this.dataSource.getConnection();
+                try {
+                    PreparedStatement stmt = conn.prepareStatement(sql);
+                    try {
+                        bind(stmt, params);
+                        return stmt.executeUpdate();
+                    } finally {
+                        stmt.close();
+                    }
+                } finally {
+                    conn.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs one statement for each set of parameters as a single batch.
+     *
+     * <p>The batch is applied in one transaction, so either every row is
+     * written or none are.</p>
+     *
+     * @param sql The statement to prepare
+     * @param params The parameters for each execution of the statement
+     * @return A future completing with the update count of each execution
+     */
+    public ListenableFuture<int[]> batch(final String sql, List<Object[]> params) {
+        checkNotNull(sql, "sql");
+        final List<Object[]> batch = ImmutableList.copyOf(params);
+        return this.executor.submit(new Callable<int[]>() {
+            @Override
+            public int[] call() throws SQLException {
+                Connection conn = SqlExecutor.this.dataSource.getConnection();
+                try {
+                    boolean autoCommit = conn.getAutoCommit();
+                    conn.setAutoCommit(false);
+                    try {
+                        PreparedStatement stmt = conn.prepareStatement(sql);
+                        try {
+                            for (Object[] row : batch) {
+                                bind(stmt, row);
+                                stmt.addBatch();
+                            }
+                            int[] counts = stmt.executeBatch();
+                            conn.commit();
+                            return counts;
+                        } finally {
+                            stmt.close();
+                        }
+                    } catch (SQLException e) {
+                        conn.rollback();
+                        throw e;
+                    } catch (RuntimeException e) {
+                        conn.rollback();
+                        throw e;
+                    } finally {
+                        conn.setAutoCommit(autoCommit);
+                    }
+                } finally {
+                    conn.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Stops accepting new statements. Statements already queued still run.
+     */
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+    private static void bind(PreparedStatement stmt, Object[] params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            stmt.setObject(i + 1, params[i]);
+        }
+    }
+
+}
@@ -68,6 +68,9 @@ import javax.sql.DataSource;
 public class SqlServiceImpl implements SqlService, Closeable {
 
     private static final Map<String, Properties> PROTOCOL_SPECIFIC_PROPS;
+    // https://github.com/brettwooldridge/HikariCP/wiki/About-Pool-Sizing for info on pool sizing
+    private static final int POOL_SIZE = (Runtime.getRuntime().availableProcessors() * 2) + 1;
+    private static final int EXECUTOR_QUEUE_SIZE = 1024;
 
     static {
         ImmutableMap.Builder<String, Properties> build = ImmutableMap.builder();
@@ -75,18 +78,34 @@ public class SqlServiceImpl implements SqlService, Closeable {
         mySqlProps.setProperty("useConfigs",
                 "maxPerformance"); // Config options based on http://assets.en.oreilly
                 // .com/1/event/21/Connector_J%20Performance%20Gems%20Presentation.pdf
+        // maxPerformance turns on cachePrepStmts but leaves the cache at 25 statements of at most 256 chars
+        mySqlProps.setProperty("prepStmtCacheSize", "250");
+        mySqlProps.setProperty("prepStmtCacheSqlLimit", "2048");
         build.put("com.mysql.jdbc.Driver", mySqlProps);
         build.put("org.mariadb.jdbc.Driver", mySqlProps);
 
         PROTOCOL_SPECIFIC_PROPS = build.build();
     }
 
+    private final LoadingCache<HikariDataSource, SqlExecutor> executorCache =
+            CacheBuilder.newBuilder().weakKeys().build(new CacheLoader<HikariDataSource, SqlExecutor>() {
+                @Override
+                public SqlExecutor load(@Nonnull HikariDataSource key) throws Exception {
+                    return new SqlExecutor(key, key.getPoolName(), POOL_SIZE, EXECUTOR_QUEUE_SIZE);
+                }
+            });
+
     private final LoadingCache<ConnectionInfo, HikariDataSource> connectionCache =
             CacheBuilder.newBuilder().removalListener(new RemovalListener<ConnectionInfo, HikariDataSource>() {
                 @Override
                 public void onRemoval(RemovalNotification<ConnectionInfo, HikariDataSource> notification) {
                     HikariDataSource source = notification.getValue();
                     if (source != null) {
+                        SqlExecutor executor = SqlServiceImpl.this.executorCache.getIfPresent(source);
+                        if (executor != null) {
+                            SqlServiceImpl.this.executorCache.invalidate(source);
+                            executor.shutdown();
+                        }
                         source.close();
                     }
                 }
@@ -97,8 +116,7 @@ public class SqlServiceImpl implements SqlService, Closeable {
                     config.setUsername(key.getUser());
                     config.setPassword(key.getPassword());
                     config.setDriverClassName(key.getDriverClassName());
-                    // https://github.com/brettwooldridge/HikariCP/wiki/About-Pool-Sizing for info on pool sizing
-                    config.setMaximumPoolSize((Runtime.getRuntime().availableProcessors() * 2) + 1);
+                    config.setMaximumPoolSize(POOL_SIZE);
                     Properties driverSpecificProperties = PROTOCOL_SPECIFIC_PROPS.get(key.getDriverClassName());
                     if (driverSpecificProperties != null) {
                         config.setDataSourceProperties(driverSpecificProperties);
@@ -119,6 +137,25 @@ public class SqlServiceImpl implements SqlService, Closeable {
         }
     }
 
+    /**
+     * Get the executor running statements against the DataSource for the given connection.
+     *
+     * <p>Statements share the connection pool of {@link #getDataSource(String)} for the same url.</p>
+     *
+     * @param jdbcConnection The jdbc url or connection alias
+     * @return The executor for the connection
+     * @throws SQLException If the DataSource could not be created
+     */
+    public SqlExecutor getExecutor(String jdbcConnection) throws SQLException {
+        jdbcConnection = getConnectionUrlFromAlias(jdbcConnection).or(jdbcConnection);
+        ConnectionInfo info = ConnectionInfo.fromUrl(jdbcConnection);
+        try {
+            return this.executorCache.get(this.connectionCache.get(info));
+        } catch (ExecutionException e) {
+            throw new SQLException(e);
+        }
+    }
+
     @Override
     public void close() throws IOException {
         this.connectionCache.invalidateAll();
@@ -171,6 +208,16 @@ public class SqlServiceImpl implements SqlService, Closeable {
             return this.fullUrl;
         }
 
+        @Override
+        public boolean equals(@Nullable Object o) {
+            return this == o || o instanceof ConnectionInfo && this.fullUrl.equals(((ConnectionInfo) o).fullUrl);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.fullUrl.hashCode();
+        }
+
         /**
          * Extracts the connection info from a JDBC url with additional authentication information as specified in {@link SqlService}.
          *
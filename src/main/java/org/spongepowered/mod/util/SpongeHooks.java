@@ -30,6 +30,7 @@ import gnu.trove.map.hash.TObjectIntHashMap;
 import gnu.trove.map.hash.TObjectLongHashMap;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.NBTTagCompound;
@@ -40,10 +41,15 @@ import net.minecraft.util.BlockPos;
 import net.minecraft.util.MathHelper;
 import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.gen.ChunkProviderServer;
 import net.minecraftforge.common.DimensionManager;
 import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.mod.configuration.EffectiveConfig;
 import org.spongepowered.mod.configuration.SpongeConfig;
+import org.spongepowered.mod.interfaces.IMixinChunk;
+import org.spongepowered.mod.interfaces.IMixinEntity;
 import org.spongepowered.mod.interfaces.IMixinWorld;
 import org.spongepowered.mod.interfaces.IMixinWorldProvider;
 import org.spongepowered.mod.mixin.plugin.CoreMixinPlugin;
@@ -61,6 +67,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import javax.annotation.Nullable;
 import javax.management.MBeanServer;
 
 public class SpongeHooks {
@@ -90,44 +97,52 @@ public class SpongeHooks {
         }
     }
 
+    public static void logStack(EffectiveConfig config) {
+        if (config.logWithStackTraces) {
+            Throwable ex = new Throwable();
+            ex.fillInStackTrace();
+            ex.printStackTrace();
+        }
+    }
+
     public static void logEntityDeath(Entity entity) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entityDeathLogging()) {
-            logInfo("[" + config.getConfigName() + "] [" + config.getConfigName() + "] Dim: {0} setDead(): {1}",
+        EffectiveConfig config = getEffectiveConfig(entity.worldObj);
+        if (config.entityDeathLogging) {
+            logInfo("[" + config.configName + "] [" + config.configName + "] Dim: {0} setDead(): {1}",
                     entity.worldObj.provider.getDimensionId(), entity);
             logStack(config);
         }
     }
 
     public static void logEntityDespawn(Entity entity, String reason) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entityDespawnLogging()) {
-            logInfo("[" + config.getConfigName() + "] Dim: {0} Despawning ({1}): {2}", entity.worldObj.provider.getDimensionId(), reason, entity);
+        EffectiveConfig config = getEffectiveConfig(entity.worldObj);
+        if (config.entityDespawnLogging) {
+            logInfo("[" + config.configName + "] Dim: {0} Despawning ({1}): {2}", entity.worldObj.provider.getDimensionId(), reason, entity);
             logStack(config);
         }
     }
 
     public static void logEntitySpawn(Entity entity) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entitySpawnLogging()) {
-            logInfo("[" + config.getConfigName() + "] Dim: {0} Spawning: {1}", entity.worldObj.provider.getDimensionId(), entity);
+        EffectiveConfig config = getEffectiveConfig(entity.worldObj);
+        if (config.entitySpawnLogging) {
+            logInfo("[" + config.configName + "] Dim: {0} Spawning: {1}", entity.worldObj.provider.getDimensionId(), entity);
             logStack(config);
         }
     }
 
     public static void logChunkLoad(World world, Vector3i chunkPos) {
-        SpongeConfig<?> config = getActiveConfig(world);
-        if (config.getConfig().getLogging().chunkLoadLogging()) {
-            logInfo("[" + config.getConfigName() + "] Load Chunk At [{0}] ({1}, {2})", world.provider.getDimensionId(), chunkPos.getX(),
+        EffectiveConfig config = getEffectiveConfig(world);
+        if (config.chunkLoadLogging) {
+            logInfo("[" + config.configName + "] Load Chunk At [{0}] ({1}, {2})", world.provider.getDimensionId(), chunkPos.getX(),
                     chunkPos.getZ());
             logStack(config);
         }
     }
 
     public static void logChunkUnload(World world, Vector3i chunkPos) {
-        SpongeConfig<?> config = getActiveConfig(world);
-        if (config.getConfig().getLogging().chunkUnloadLogging()) {
-            logInfo("[" + config.getConfigName() + "] Unload Chunk At [{0}] ({1}, {2})", world.provider.getDimensionId(), chunkPos.getX(),
+        EffectiveConfig config = getEffectiveConfig(world);
+        if (config.chunkUnloadLogging) {
+            logInfo("[" + config.configName + "] Unload Chunk At [{0}] ({1}, {2})", world.provider.getDimensionId(), chunkPos.getX(),
                     chunkPos.getZ());
             logStack(config);
         }
@@ -141,12 +156,12 @@ public class SpongeHooks {
     }
 
     public static boolean checkBoundingBoxSize(Entity entity, AxisAlignedBB aabb) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
         if (!(entity instanceof EntityLivingBase) || entity instanceof EntityPlayer) {
             return false; // only check living entities that are not players
         }
 
-        int maxBoundingBoxSize = config.getConfig().getEntity().getMaxBoundingBoxSize();
+        EffectiveConfig config = getEffectiveConfig(entity.worldObj);
+        int maxBoundingBoxSize = config.maxBoundingBoxSize;
         if (maxBoundingBoxSize <= 0) {
             return false;
         }
@@ -176,28 +191,28 @@ public class SpongeHooks {
     }
 
     public static boolean checkEntitySpeed(Entity entity, double x, double y, double z) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        int maxSpeed = config.getConfig().getEntity().getMaxSpeed();
+        EffectiveConfig config = getEffectiveConfig(entity.worldObj);
+        int maxSpeed = config.maxSpeed;
         if (maxSpeed > 0) {
             double distance = x * x + z * z;
             if (distance > maxSpeed) {
-                if (config.getConfig().getLogging().logEntitySpeedRemoval()) {
-                    logInfo("[" + config.getConfigName() + "] Speed violation: {0} was over {1} - Removing Entity: {2}", distance, maxSpeed, entity);
+                if (config.logEntitySpeedRemoval) {
+                    logInfo("[" + config.configName + "] Speed violation: {0} was over {1} - Removing Entity: {2}", distance, maxSpeed, entity);
                     if (entity instanceof EntityLivingBase) {
                         EntityLivingBase livingBase = (EntityLivingBase) entity;
-                        logInfo("[" + config.getConfigName() + "] Entity Motion: ({0}, {1}, {2}) Move Strafing: {3} Move Forward: {4}",
+                        logInfo("[" + config.configName + "] Entity Motion: ({0}, {1}, {2}) Move Strafing: {3} Move Forward: {4}",
                                 entity.motionX, entity.motionY,
                                 entity.motionZ,
                                 livingBase.moveStrafing, livingBase.moveForward);
                     }
 
-                    if (config.getConfig().getLogging().logWithStackTraces()) {
-                        logInfo("[" + config.getConfigName() + "] Move offset: ({0}, {1}, {2})", x, y, z);
-                        logInfo("[" + config.getConfigName() + "] Motion: ({0}, {1}, {2})", entity.motionX, entity.motionY, entity.motionZ);
-                        logInfo("[" + config.getConfigName() + "] Entity: {0}", entity);
+                    if (config.logWithStackTraces) {
+                        logInfo("[" + config.configName + "] Move offset: ({0}, {1}, {2})", x, y, z);
+                        logInfo("[" + config.configName + "] Motion: ({0}, {1}, {2})", entity.motionX, entity.motionY, entity.motionZ);
+                        logInfo("[" + config.configName + "] Entity: {0}", entity);
                         NBTTagCompound tag = new NBTTagCompound();
                         entity.writeToNBT(tag);
-                        logInfo("[" + config.getConfigName() + "] Entity NBT: {0}", tag);
+                        logInfo("[" + config.configName + "] Entity NBT: {0}", tag);
                         logStack(config);
                     }
                 }
@@ -215,14 +230,91 @@ public class SpongeHooks {
         return true;
     }
 
+    /**
+     * Checks the per chunk entity caps of the world before an entity spawns,
+     * applying the configured policy if a cap would be exceeded.
+     *
+     * @param world The world the entity is spawning in
+     * @param entity The entity spawning
+     * @return Whether the entity may spawn
+     */
+    public static boolean checkChunkEntityCap(World world, Entity entity) {
+        EffectiveConfig config = getEffectiveConfig(world);
+        if (!config.hasEntityChunkCaps || entity instanceof EntityPlayer) {
+            return true;
+        }
+        int chunkX = MathHelper.floor_double(entity.posX / 16.0D);
+        int chunkZ = MathHelper.floor_double(entity.posZ / 16.0D);
+        if (!world.getChunkProvider().chunkExists(chunkX, chunkZ)) {
+            return true;
+        }
+        Chunk chunk = world.getChunkFromChunkCoords(chunkX, chunkZ);
+        IMixinChunk counts = (IMixinChunk) chunk;
+
+        byte activationType = ((IMixinEntity) entity).getEntityCapType();
+        int activationCap = config.getEntityChunkCap(activationType);
+        boolean overActivationCap = activationCap > 0 && counts.getEntityCount(activationType) >= activationCap;
+        EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
+        int typeCap = type == null ? 0 : config.getEntityTypeChunkCap(type.getId());
+        boolean overTypeCap = typeCap > 0 && counts.getEntityCount(type) >= typeCap;
+        if (!overActivationCap && !overTypeCap) {
+            return true;
+        }
+
+        switch (config.entityCapPolicy) {
+            case REMOVE_OLDEST:
+                if (overTypeCap) {
+                    removeOldestEntity(chunk, type, activationType);
+                }
+                if (overActivationCap) {
+                    removeOldestEntity(chunk, null, activationType);
+                }
+                return true;
+            case FREEZE_AI:
+                if (entity instanceof EntityLiving) {
+                    ((EntityLiving) entity).setNoAI(true);
+                    return true;
+                }
+                return false;
+            case DENY_SPAWN:
+            default:
+                return false;
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static void removeOldestEntity(Chunk chunk, @Nullable EntityType type, byte activationType) {
+        Entity oldest = null;
+        for (Iterable entities : chunk.getEntityLists()) {
+            for (Object o : entities) {
+                Entity other = (Entity) o;
+                if (isCappedAs(other, type, activationType) && (oldest == null || other.ticksExisted > oldest.ticksExisted)) {
+                    oldest = other;
+                }
+            }
+        }
+        if (oldest != null) {
+            logEntityDespawn(oldest, "chunk entity cap");
+            oldest.setDead();
+        }
+    }
+
+    private static boolean isCappedAs(Entity entity, @Nullable EntityType type, byte activationType) {
+        if (entity.isDead || entity instanceof EntityPlayer) {
+            return false;
+        }
+        return type != null ? type.equals(((org.spongepowered.api.entity.Entity) entity).getType())
+                : ((IMixinEntity) entity).getEntityCapType() == activationType;
+    }
+
     // TODO - needs to be hooked
     @SuppressWarnings("rawtypes")
     public static void logEntitySize(Entity entity, List list) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (!config.getConfig().getLogging().logEntityCollisionChecks()) {
+        EffectiveConfig config = getEffectiveConfig(entity.worldObj);
+        if (!config.logEntityCollisionChecks) {
             return;
         }
-        int collisionWarnSize = config.getConfig().getEntity().getMaxCollisionSize();
+        int collisionWarnSize = config.maxCollisionSize;
 
         if (list == null) {
             return;
@@ -408,9 +500,31 @@ public class SpongeHooks {
         mbean.setThreadContentionMonitoringEnabled(true);
     }
 
+    /**
+     * Gets the pre-resolved settings of the config active for the world.
+     *
+     * @param world The world
+     * @return The effective config of the world
+     */
+    public static EffectiveConfig getEffectiveConfig(World world) {
+        return ((IMixinWorld) world).getEffectiveConfig();
+    }
+
     public static SpongeConfig<?> getActiveConfig(World world) {
+        return ((IMixinWorld) world).getEffectiveConfig().config;
+    }
+
+    /**
+     * Walks the world, dimension and global configs to find the one active
+     * for the world. Prefer {@link #getActiveConfig(World)}, which caches the
+     * result.
+     *
+     * @param world The world
+     * @return The active config
+     */
+    public static SpongeConfig<?> resolveActiveConfig(World world) {
         SpongeConfig<?> config = ((IMixinWorld) world).getWorldConfig();
-        if (config.getConfig().isConfigEnabled()) {
+        if (config != null && config.getConfig().isConfigEnabled()) {
             return config;
         } else if (((IMixinWorldProvider) world.provider).getDimensionConfig() != null && ((IMixinWorldProvider) world.provider)
                 .getDimensionConfig().getConfig().isConfigEnabled()) {
@@ -0,0 +1,170 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world;
+
+import com.google.common.collect.ImmutableSetMultimap;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.common.ForgeChunkManager;
+import org.spongepowered.mod.configuration.EffectiveConfig;
+import org.spongepowered.mod.interfaces.IMixinChunk;
+import org.spongepowered.mod.interfaces.IMixinWorld;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Unloads chunks that no player is near and no plugin has accessed for a
+ * while.
+ *
+ * <p>Every {@code chunk-gc.interval} ticks the loaded chunks of a world are
+ * scanned. Chunks within the view distance of a player have their last
+ * access time refreshed, chunks idle for longer than
+ * {@code chunk-gc.idle-ticks} that are neither forced by a
+ * {@link ForgeChunkManager} ticket nor part of a kept spawn area are queued.
+ * The queue is drained at up to {@code chunk-gc.max-unloads-per-tick} chunks
+ * per tick into the chunk provider's own unload queue.</p>
+ */
+public final class ChunkGarbageCollector {
+
+    private static final Map<WorldServer, ChunkGarbageCollector> collectors = new WeakHashMap<WorldServer, ChunkGarbageCollector>();
+
+    private final ArrayDeque<Long> candidates = new ArrayDeque<Long>();
+    private int candidatesLastScan;
+    private long unloadedTotal;
+
+    private ChunkGarbageCollector() {
+    }
+
+    /**
+     * Gets the collector of a world, creating it if needed.
+     *
+     * @param world The world
+     * @return The collector
+     */
+    public static ChunkGarbageCollector get(WorldServer world) {
+        ChunkGarbageCollector collector = collectors.get(world);
+        if (collector == null) {
+            collector = new ChunkGarbageCollector();
+            collectors.put(world, collector);
+        }
+        return collector;
+    }
+
+    /**
+     * Runs the collector of a world for one tick.
+     *
+     * @param world The world
+     */
+    public static void tick(WorldServer world) {
+        EffectiveConfig config = ((IMixinWorld) world).getEffectiveConfig();
+        if (config.chunkGcInterval <= 0) {
+            return;
+        }
+        ChunkGarbageCollector collector = get(world);
+        long now = world.getTotalWorldTime();
+        if (now % config.chunkGcInterval == 0) {
+            collector.scan(world, config, now);
+        }
+        collector.unload(world, config, now);
+    }
+
+    public int getCandidatesLastScan() {
+        return this.candidatesLastScan;
+    }
+
+    public int getQueued() {
+        return this.candidates.size();
+    }
+
+    public long getUnloadedTotal() {
+        return this.unloadedTotal;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void scan(WorldServer world, EffectiveConfig config, long now) {
+        this.candidates.clear();
+        int viewDistance = MinecraftServer.getServer().getConfigurationManager().getViewDistance();
+        for (Chunk chunk : (List<Chunk>) world.theChunkProviderServer.loadedChunks) {
+            IMixinChunk spongeChunk = (IMixinChunk) chunk;
+            if (spongeChunk.getLastAccessTime() == 0 || isNearPlayer(world, chunk.xPosition, chunk.zPosition, viewDistance)) {
+                // Chunks seen for the first time get a full idle period
+                spongeChunk.setLastAccessTime(now);
+            } else if (now - spongeChunk.getLastAccessTime() >= config.chunkGcIdleTicks) {
+                this.candidates.add(ChunkCoordIntPair.chunkXZ2Int(chunk.xPosition, chunk.zPosition));
+            }
+        }
+        this.candidatesLastScan = this.candidates.size();
+    }
+
+    private void unload(WorldServer world, EffectiveConfig config, long now) {
+        if (this.candidates.isEmpty()) {
+            return;
+        }
+        int viewDistance = MinecraftServer.getServer().getConfigurationManager().getViewDistance();
+        ImmutableSetMultimap<ChunkCoordIntPair, ForgeChunkManager.Ticket> forced = ForgeChunkManager.getPersistentChunksFor(world);
+        boolean keepSpawn = world.provider.canRespawnHere() && DimensionManager.shouldLoadSpawn(world.provider.getDimensionId());
+        int budget = config.chunkGcMaxUnloadsPerTick;
+
+        while (budget > 0 && !this.candidates.isEmpty()) {
+            long key = this.candidates.poll();
+            int x = (int) key;
+            int z = (int) (key >> 32);
+            if (!world.theChunkProviderServer.chunkExists(x, z)) {
+                continue;
+            }
+            // Recheck, players may have moved or plugins touched the chunk
+            // since the scan
+            Chunk chunk = world.theChunkProviderServer.provideChunk(x, z);
+            if (now - ((IMixinChunk) chunk).getLastAccessTime() < config.chunkGcIdleTicks
+                    || forced.containsKey(chunk.getChunkCoordIntPair())
+                    || keepSpawn && world.isSpawnChunk(x, z)
+                    || isNearPlayer(world, x, z, viewDistance)) {
+                continue;
+            }
+            world.theChunkProviderServer.dropChunk(x, z);
+            this.unloadedTotal++;
+            budget--;
+        }
+    }
+
+    private static boolean isNearPlayer(WorldServer world, int chunkX, int chunkZ, int viewDistance) {
+        for (Object o : world.playerEntities) {
+            EntityPlayer player = (EntityPlayer) o;
+            if (Math.abs((MathHelper.floor_double(player.posX) >> 4) - chunkX) <= viewDistance
+                    && Math.abs((MathHelper.floor_double(player.posZ) >> 4) - chunkZ) <= viewDistance) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.storage;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.base.Optional;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.common.chunkio.ChunkIOExecutor;
+
+import java.util.PriorityQueue;
+
+/**
+ * Schedules chunk loads so that region reads and NBT decompression happen on
+ * Forge's chunk I/O pool while the final assembly of the chunk (entities,
+ * tile entities, population) stays on the main thread.
+ *
+ * <p>Requests are ordered by {@link Priority} and only a bounded number are
+ * handed to the I/O pool at a time, so a large pre-generation job cannot
+ * starve the chunks players are walking into. All methods must be called from
+ * the main server thread.</p>
+ *
+ * <p>Chunks loaded by vanilla player tracking are not routed through this
+ * queue, Forge's {@code PlayerManager} hands them to the I/O pool directly.
+ * They are never queued behind requests made here, and at most
+ * {@value #MAX_IN_FLIGHT} of those can be ahead of them in the pool.</p>
+ */
+public final class AsyncChunkLoader {
+
+    /**
+     * The order in which queued loads are handed to the I/O pool.
+     */
+    public enum Priority {
+        /**
+         * Chunks a player is about to need, requested on the player's behalf
+         * by plugins or the API. Vanilla player tracking bypasses the queue.
+         */
+        PLAYER,
+        /**
+         * Plugin and API requests.
+         */
+        NORMAL,
+        /**
+         * Bulk loading such as spawn preparation or pre-generation.
+         */
+        PREGEN
+    }
+
+    private static final int MAX_IN_FLIGHT = 64;
+
+    private static final PriorityQueue<Request> queue = new PriorityQueue<Request>();
+    private static int inFlight;
+    private static long sequence;
+    private static boolean dispatching;
+
+    private AsyncChunkLoader() {
+    }
+
+    /**
+     * Requests the chunk at the given chunk coordinates.
+     *
+     * <p>If the chunk is already loaded the callback runs immediately. If it is
+     * not loaded and {@code generate} is false the callback receives an absent
+     * chunk, matching the synchronous load methods. The callback also receives
+     * an absent chunk if the world is unloaded before the request is
+     * handled.</p>
+     *
+     * @param world The world to load from
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @param generate Whether a missing chunk may be loaded or generated
+     * @param priority The priority of the request
+     * @param callback The callback to notify on the main thread
+     * @return A handle that can be used to cancel the request
+     * @throws IllegalStateException If not called from the main server thread
+     */
+    public static Request load(WorldServer world, int x, int z, boolean generate, Priority priority, ChunkLoadCallback callback) {
+        checkMainThread();
+        Request request = new Request(world, x, z, generate, priority, callback, sequence++);
+        if (!request.completeIfResolved()) {
+            queue.add(request);
+            dispatch();
+        }
+        return request;
+    }
+
+    /**
+     * Finishes chunk loads whose I/O has completed. Forge does this once per
+     * server tick; this only needs to be called while the server is not
+     * ticking, e.g. during spawn preparation.
+     */
+    public static void pump() {
+        ChunkIOExecutor.tick();
+    }
+
+    public static int getQueuedCount() {
+        return queue.size();
+    }
+
+    public static int getInFlightCount() {
+        return inFlight;
+    }
+
+    private static void checkMainThread() {
+        // The queue and counters are not thread safe
+        checkState(MinecraftServer.getServer().isCallingFromMinecraftThread(), "Chunk loads must be requested from the main server thread");
+    }
+
+    private static void dispatch() {
+        // Loads that complete synchronously (generation, cached chunks) call
+        // back into here, the outer loop picks up where they left off
+        if (dispatching) {
+            return;
+        }
+        dispatching = true;
+        try {
+            while (inFlight < MAX_IN_FLIGHT && !queue.isEmpty()) {
+                Request request = queue.poll();
+                if (request.state != State.QUEUED) {
+                    continue;
+                }
+                if (DimensionManager.getWorld(request.world.provider.getDimensionId()) != request.world) {
+                    // World was unloaded while the request was waiting
+                    request.drop();
+                    continue;
+                }
+                if (!request.completeIfResolved()) {
+                    request.submit();
+                }
+            }
+        } finally {
+            dispatching = false;
+        }
+    }
+
+    private enum State {
+        QUEUED,
+        LOADING,
+        DONE,
+        CANCELLED
+    }
+
+    /**
+     * A pending chunk load.
+     */
+    public static final class Request implements Comparable<Request>, Runnable {
+
+        final WorldServer world;
+        final int x;
+        final int z;
+        private final boolean generate;
+        private final Priority priority;
+        private final ChunkLoadCallback callback;
+        private final long order;
+        State state = State.QUEUED;
+
+        Request(WorldServer world, int x, int z, boolean generate, Priority priority, ChunkLoadCallback callback, long order) {
+            this.world = world;
+            this.x = x;
+            this.z = z;
+            this.generate = generate;
+            this.priority = priority;
+            this.callback = callback;
+            this.order = order;
+        }
+
+        public Priority getPriority() {
+            return this.priority;
+        }
+
+        public boolean isDone() {
+            return this.state == State.DONE;
+        }
+
+        public boolean isCancelled() {
+            return this.state == State.CANCELLED;
+        }
+
+        /**
+         * Cancels the request if it has not completed yet. The callback will
+         * not be invoked for a request cancelled this way.
+         *
+         * @return True if the request was cancelled
+         * @throws IllegalStateException If not called from the main server
+         *     thread
+         */
+        public boolean cancel() {
+            checkMainThread();
+            if (this.state == State.QUEUED) {
+                // Lazily dropped when it reaches the head of the queue
+                this.state = State.CANCELLED;
+                return true;
+            }
+            if (this.state == State.LOADING) {
+                this.state = State.CANCELLED;
+                ChunkIOExecutor.dropQueuedChunkLoad(this.world, this.x, this.z, this);
+                inFlight--;
+                dispatch();
+                return true;
+            }
+            return false;
+        }
+
+        boolean completeIfResolved() {
+            if (this.world.theChunkProviderServer.chunkExists(this.x, this.z)) {
+                complete(this.world.theChunkProviderServer.provideChunk(this.x, this.z));
+                return true;
+            }
+            if (!this.generate) {
+                complete(null);
+                return true;
+            }
+            return false;
+        }
+
+        void drop() {
+            this.state = State.CANCELLED;
+            this.callback.onChunkLoad(Optional.<org.spongepowered.api.world.Chunk>absent());
+        }
+
+        void submit() {
+            this.state = State.LOADING;
+            inFlight++;
+            this.world.theChunkProviderServer.loadChunk(this.x, this.z, this);
+        }
+
+        @Override
+        public void run() {
+            if (this.state != State.LOADING) {
+                return;
+            }
+            inFlight--;
+            complete(this.world.theChunkProviderServer.chunkExists(this.x, this.z)
+                    ? this.world.theChunkProviderServer.provideChunk(this.x, this.z) : null);
+            dispatch();
+        }
+
+        private void complete(Chunk chunk) {
+            this.state = State.DONE;
+            this.callback.onChunkLoad(Optional.fromNullable((org.spongepowered.api.world.Chunk) chunk));
+        }
+
+        @Override
+        public int compareTo(Request other) {
+            int result = this.priority.compareTo(other.priority);
+            if (result != 0) {
+                return result;
+            }
+            return this.order < other.order ? -1 : (this.order == other.order ? 0 : 1);
+        }
+    }
+}
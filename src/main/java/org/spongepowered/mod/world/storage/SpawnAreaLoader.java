@@ -0,0 +1,103 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.storage;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.api.world.Chunk;
+
+import java.util.List;
+
+/**
+ * Loads the spawn areas of one or more worlds through the
+ * {@link AsyncChunkLoader}, tracking progress across all of them.
+ */
+public final class SpawnAreaLoader implements ChunkLoadCallback {
+
+    private static final int SPAWN_RADIUS = 192;
+
+    private final List<AsyncChunkLoader.Request> requests = Lists.newArrayList();
+    private int remaining;
+
+    /**
+     * Queues the spawn area of the given world.
+     *
+     * @param world The world
+     */
+    public void queue(WorldServer world) {
+        BlockPos spawn = world.getSpawnPoint();
+        for (int x = -SPAWN_RADIUS; x <= SPAWN_RADIUS; x += 16) {
+            for (int z = -SPAWN_RADIUS; z <= SPAWN_RADIUS; z += 16) {
+                this.remaining++;
+                this.requests.add(AsyncChunkLoader.load(world, spawn.getX() + x >> 4, spawn.getZ() + z >> 4, true,
+                        AsyncChunkLoader.Priority.PREGEN, this));
+            }
+        }
+    }
+
+    @Override
+    public void onChunkLoad(Optional<Chunk> chunk) {
+        this.remaining--;
+    }
+
+    public boolean isDone() {
+        return this.remaining == 0;
+    }
+
+    public int getPercentDone() {
+        if (this.requests.isEmpty()) {
+            return 100;
+        }
+        return (this.requests.size() - this.remaining) * 100 / this.requests.size();
+    }
+
+    /**
+     * Finishes completed loads and, if any are left, waits briefly for more
+     * of them to complete.
+     */
+    public void tick() {
+        AsyncChunkLoader.pump();
+        if (this.remaining > 0) {
+            try {
+                Thread.sleep(1L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Cancels every request that has not completed yet.
+     */
+    public void cancel() {
+        // Back to front so queued requests are gone before in-flight ones
+        // free up slots for them
+        for (int i = this.requests.size() - 1; i >= 0; i--) {
+            this.requests.get(i).cancel();
+        }
+    }
+}
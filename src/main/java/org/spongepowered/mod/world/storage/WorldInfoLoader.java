@@ -0,0 +1,99 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.storage;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.world.storage.ISaveHandler;
+import net.minecraft.world.storage.WorldInfo;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reads the level.dat of several worlds at once during startup.
+ */
+public final class WorldInfoLoader {
+
+    private WorldInfoLoader() {
+    }
+
+    /**
+     * Loads the world info of every save handler, using up to the given
+     * number of threads.
+     *
+     * <p>The save handlers must belong to different world folders. Worlds
+     * without a level.dat map to null.</p>
+     *
+     * @param saveHandlers The save handlers, keyed by dimension id
+     * @param threads The maximum number of threads to use
+     * @return The loaded world info, keyed by dimension id
+     */
+    public static Map<Integer, WorldInfo> loadAll(Map<Integer, ? extends ISaveHandler> saveHandlers, int threads) {
+        Map<Integer, WorldInfo> worldInfos = Maps.newHashMap();
+        int poolSize = Math.min(threads, saveHandlers.size());
+        if (poolSize <= 1) {
+            for (Map.Entry<Integer, ? extends ISaveHandler> entry : saveHandlers.entrySet()) {
+                worldInfos.put(entry.getKey(), entry.getValue().loadWorldInfo());
+            }
+            return worldInfos;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize,
+                new ThreadFactoryBuilder().setNameFormat("Sponge World Info Loader #%d").setDaemon(true).build());
+        try {
+            Map<Integer, Future<WorldInfo>> futures = Maps.newLinkedHashMap();
+            for (Map.Entry<Integer, ? extends ISaveHandler> entry : saveHandlers.entrySet()) {
+                final ISaveHandler saveHandler = entry.getValue();
+                futures.put(entry.getKey(), executor.submit(new Callable<WorldInfo>() {
+
+                    @Override
+                    public WorldInfo call() throws Exception {
+                        return saveHandler.loadWorldInfo();
+                    }
+                }));
+            }
+            for (Map.Entry<Integer, Future<WorldInfo>> entry : futures.entrySet()) {
+                try {
+                    worldInfos.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    // Keeps StartupQuery aborts working like they do on the main thread
+                    throw Throwables.propagate(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw Throwables.propagate(e);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return worldInfos;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Writes world info files such as level.dat on a background thread.
+ *
+ * <p>Callers hand over a snapshot of the compound to write. If a file is
+ * saved again before its previous save was written, only the latest snapshot
+ * is written.</p>
+ */
+public final class WorldInfoWriter {
+
+    private static final Logger logger = LogManager.getLogger("Sponge");
+    private static final ConcurrentMap<File, NBTTagCompound> pending = new ConcurrentHashMap<File, NBTTagCompound>();
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("Sponge World Info Writer")
+            .setDaemon(true)
+            .build());
+
+    private WorldInfoWriter() {
+    }
+
+    /**
+     * Queues a compound to be written to a file. The compound must not be
+     * modified afterwards.
+     *
+     * @param file The file to write
+     * @param compound The snapshot to write
+     */
+    public static void save(final File file, NBTTagCompound compound) {
+        if (pending.put(file, compound) == null) {
+            executor.execute(new Runnable() {
+
+                @Override
+                public void run() {
+                    NBTTagCompound latest = pending.remove(file);
+                    if (latest != null) {
+                        write(file, latest);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Waits until every save queued so far has been written.
+     */
+    public static void flush() {
+        try {
+            executor.submit(new Runnable() {
+
+                @Override
+                public void run() {
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Failed to wait for world info to be written", e);
+        }
+    }
+
+    /**
+     * Compresses the compound and writes it next to the file, forcing it to
+     * disk before it replaces the file. The previous file is kept with an
+     * _old suffix.
+     *
+     * @param file The file to write
+     * @param compound The compound to write
+     */
+    private static void write(File file, NBTTagCompound compound) {
+        File newFile = new File(file.getParentFile(), file.getName() + "_new");
+        File oldFile = new File(file.getParentFile(), file.getName() + "_old");
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            CompressedStreamTools.writeCompressed(compound, bytes);
+
+            FileOutputStream out = new FileOutputStream(newFile);
+            try {
+                bytes.writeTo(out);
+                out.flush();
+                out.getFD().sync();
+            } finally {
+                out.close();
+            }
+
+            if (oldFile.exists() && !oldFile.delete()) {
+                throw new IOException("Unable to delete " + oldFile);
+            }
+            if (file.exists() && !file.renameTo(oldFile)) {
+                throw new IOException("Unable to move " + file + " to " + oldFile);
+            }
+            if (!newFile.renameTo(file)) {
+                throw new IOException("Unable to move " + newFile + " to " + file);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to save " + file, e);
+        }
+    }
+}
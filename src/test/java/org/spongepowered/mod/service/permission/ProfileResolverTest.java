@@ -0,0 +1,76 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.permission;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.mojang.authlib.GameProfile;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ProfileResolverTest {
+
+    @Test
+    public void testResolvedProfileIsCached() throws Exception {
+        final AtomicInteger lookups = new AtomicInteger();
+        ProfileResolver resolver = new ProfileResolver(new ProfileLookup() {
+
+            @Override
+            public GameProfile lookup(UUID uniqueId) {
+                lookups.incrementAndGet();
+                return new GameProfile(uniqueId, "Stub");
+            }
+        });
+        UUID uniqueId = UUID.randomUUID();
+
+        assertNull(resolver.getIfPresent(uniqueId));
+        GameProfile profile = resolver.resolve(uniqueId).get(5, TimeUnit.SECONDS);
+        assertEquals("Stub", profile.getName());
+        assertSame(profile, resolver.getIfPresent(uniqueId));
+        assertSame(profile, resolver.resolve(uniqueId).get(5, TimeUnit.SECONDS));
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    public void testUnknownProfileIsNotCached() throws Exception {
+        ProfileResolver resolver = new ProfileResolver(new ProfileLookup() {
+
+            @Override
+            public GameProfile lookup(UUID uniqueId) {
+                return null;
+            }
+        });
+        UUID uniqueId = UUID.randomUUID();
+
+        assertNull(resolver.resolve(uniqueId).get(5, TimeUnit.SECONDS));
+        assertNull(resolver.getIfPresent(uniqueId));
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.permission;
+
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.spongepowered.api.service.permission.SubjectData;
+import org.spongepowered.api.util.Tristate;
+
+public class UserCollectionTest {
+
+    @Test
+    public void testDefaultDataPermissionChecksAllUsers() {
+        SpongePermissionService service = new SpongePermissionService();
+        UserCollection users = (UserCollection) service.getUserSubjects();
+
+        service.getDefaultData().setPermission(SubjectData.GLOBAL_CONTEXT, "test.default", Tristate.TRUE);
+        // Users without the node in their own data still get it from the defaults
+        assertNull(users.getImplicitPermissionSubjects("test.default"));
+        assertNull(users.getImplicitPermissionSubjects("test.default.child"));
+    }
+
+    @Test
+    public void testDefaultParentPermissionChecksAllUsers() {
+        SpongePermissionService service = new SpongePermissionService();
+        UserCollection users = (UserCollection) service.getUserSubjects();
+
+        service.getGroupForOpLevel(0).getData().setPermission(SubjectData.GLOBAL_CONTEXT, "test.group", Tristate.FALSE);
+        assertNull(users.getImplicitPermissionSubjects("test.group"));
+    }
+}
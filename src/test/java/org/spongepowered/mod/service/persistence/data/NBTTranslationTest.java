@@ -54,4 +54,18 @@ public class NBTTranslationTest {
         assertTrue(container.equals(translatedContainer));
     }
 
+    @Test
+    public void testPrimitiveArraysRoundTrip() {
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setByteArray("Blocks", new byte[] {1, 2, 3});
+        compound.setIntArray("HeightMap", new int[] {4, 5, 6});
+        NBTTagCompound section = new NBTTagCompound();
+        section.setByte("Y", (byte) 2);
+        section.setByteArray("Data", new byte[] {7, 8});
+        compound.setTag("Section", section);
+        DataView container = NbtTranslator.getInstance().translateFrom(compound);
+        NBTTagCompound translated = NbtTranslator.getInstance().translateData(container);
+        assertTrue(compound.equals(translated));
+    }
+
 }
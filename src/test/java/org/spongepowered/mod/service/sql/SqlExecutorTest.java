@@ -0,0 +1,98 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.sql;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.ImmutableList;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+public class SqlExecutorTest {
+
+    private static final ResultSetHandler<List<String>> NAMES = new ResultSetHandler<List<String>>() {
+        @Override
+        public List<String> handle(ResultSet rs) throws SQLException {
+            List<String> names = new ArrayList<String>();
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+            return names;
+        }
+    };
+
+    private SqlExecutor executor;
+
+    @Before
+    public void setUp() throws Exception {
+        JdbcDataSource source = new JdbcDataSource();
+        source.setURL("jdbc:h2:mem:sqlexecutortest;DB_CLOSE_DELAY=-1");
+        this.executor = new SqlExecutor(source, "test", 2, 16);
+        this.executor.update("CREATE TABLE people (id INT PRIMARY KEY, name VARCHAR(32))").get();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.executor.update("DROP TABLE people").get();
+        this.executor.shutdown();
+    }
+
+    @Test
+    public void testUpdateAndQuery() throws Exception {
+        assertEquals(1, (int) this.executor.update("INSERT INTO people VALUES (?, ?)", 1, "zml").get());
+        assertEquals(ImmutableList.of("zml"), this.executor.query("SELECT name FROM people WHERE id = ?", NAMES, 1).get());
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        int[] counts = this.executor.batch("INSERT INTO people VALUES (?, ?)", ImmutableList.of(
+                new Object[] {1, "a"}, new Object[] {2, "b"}, new Object[] {3, "c"})).get();
+        assertArrayEquals(new int[] {1, 1, 1}, counts);
+        assertEquals(ImmutableList.of("a", "b", "c"), this.executor.query("SELECT name FROM people ORDER BY id", NAMES).get());
+    }
+
+    @Test
+    public void testFailedBatchRollsBack() throws Exception {
+        try {
+            this.executor.batch("INSERT INTO people VALUES (?, ?)", ImmutableList.of(
+                    new Object[] {1, "a"}, new Object[] {1, "duplicate"})).get();
+            fail("Batch with duplicate key should fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof SQLException);
+        }
+        assertEquals(ImmutableList.<String>of(), this.executor.query("SELECT name FROM people", NAMES).get());
+    }
+}